@@ -0,0 +1,87 @@
+package com.shivam.interviewques;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tryConsume(key) of {@link KeyedRateLimiter} spread over many keys, at 1, 8 and 64 threads.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class KeyedRateLimiterBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int keyCount;
+
+    private String[] keys;
+    private KeyedRateLimiter limiter;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(1 << 20);
+    }
+
+    @Setup
+    public void setUp() {
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "client-" + i;
+        }
+        limiter = new KeyedRateLimiter(RateLimiterConfig.of(100, Duration.ofSeconds(1)),
+                Duration.ofMinutes(1), keyCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        limiter.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean throughput(Cursor cursor) {
+        return limiter.tryConsume(nextKey(cursor));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean latency(Cursor cursor) {
+        return limiter.tryConsume(nextKey(cursor));
+    }
+
+    // Stride by a large odd number so threads walk the keys in a scattered order
+    private String nextKey(Cursor cursor) {
+        cursor.next += 0x9E3779B1;
+        return keys[Math.floorMod(cursor.next, keyCount)];
+    }
+
+    @Threads(1)
+    public static class OneThread extends KeyedRateLimiterBenchmark {
+    }
+
+    @Threads(8)
+    public static class EightThreads extends KeyedRateLimiterBenchmark {
+    }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends KeyedRateLimiterBenchmark {
+    }
+}
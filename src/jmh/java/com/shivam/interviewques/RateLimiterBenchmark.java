@@ -0,0 +1,74 @@
+package com.shivam.interviewques;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tryConsume() of every engine on one shared limiter, at 1, 8 and 64 threads.
+ * IDLE never reaches its limit; SATURATED allows 1000/s, so nearly every call is rejected.
+ * Throughput is reported in ops/s, latency as sampled percentiles (p99), and
+ * the default {@code -prof gc} adds the allocation rate per op.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class RateLimiterBenchmark {
+
+    public enum Scenario { IDLE, SATURATED }
+
+    @Param({"SLIDING_LOG", "SLIDING_WINDOW_COUNTER", "TOKEN_BUCKET", "GCRA"})
+    public RateLimiter.Algorithm algorithm;
+
+    @Param({"IDLE", "SATURATED"})
+    public Scenario scenario;
+
+    private RateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        RateLimiterConfig config = scenario == Scenario.IDLE
+                ? RateLimiterConfig.of(10_000_000, Duration.ofMillis(10))
+                : RateLimiterConfig.of(1_000, Duration.ofSeconds(1));
+        limiter = RateLimiter.create(algorithm, config);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean throughput() {
+        return limiter.tryConsume();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean latency() {
+        return limiter.tryConsume();
+    }
+
+    @Threads(1)
+    public static class OneThread extends RateLimiterBenchmark {
+    }
+
+    @Threads(8)
+    public static class EightThreads extends RateLimiterBenchmark {
+    }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends RateLimiterBenchmark {
+    }
+}
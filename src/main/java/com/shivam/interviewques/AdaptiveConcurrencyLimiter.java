@@ -0,0 +1,165 @@
+package com.shivam.interviewques;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limiter whose limit follows the measured downstream latency,
+ * instead of a fixed requests-per-window number.
+ * <p>
+ * AIMD: +1/limit per fast release while the limit is in use (about +1 per window
+ * of calls), x0.9 once per congestion event: after a backoff, the slow samples of
+ * calls that were already in flight are not counted again.
+ * GRADIENT: limit = limit * (longTermRtt / sampleRtt) + sqrt(limit), smoothed,
+ * so the limit shrinks as soon as queueing makes latency rise above its baseline.
+ * <p>
+ * Usage: {@code if (tryAcquire()) { call(); release(latency); }}.
+ * All state lives in atomics and is updated with CAS loops, so the limit
+ * can be recomputed on every request.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Algorithm { AIMD, GRADIENT }
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double GRADIENT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_TERM_WEIGHT = 0.01;
+
+    private final Algorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    // Doubles stored as raw long bits so they can be CAS-updated
+    private final AtomicLong limit;
+    private final AtomicLong longTermRtt = new AtomicLong(Double.doubleToRawLongBits(0));
+    // Releases still due from calls issued before the last backoff
+    private final AtomicInteger issuedBeforeBackoff = new AtomicInteger();
+
+    private AdaptiveConcurrencyLimiter(Algorithm algorithm, int initialLimit, int minLimit, int maxLimit,
+                                       long latencyTargetNanos) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.algorithm = algorithm;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+    }
+
+    /**
+     * Additive increase while latency is under {@code latencyTarget}, multiplicative decrease above it.
+     */
+    public static AdaptiveConcurrencyLimiter aimd(int initialLimit, int minLimit, int maxLimit,
+                                                  Duration latencyTarget) {
+        return new AdaptiveConcurrencyLimiter(Algorithm.AIMD, initialLimit, minLimit, maxLimit,
+                latencyTarget.toNanos());
+    }
+
+    /**
+     * Gradient of long-term vs sampled latency; needs no latency target.
+     */
+    public static AdaptiveConcurrencyLimiter gradient(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(Algorithm.GRADIENT, initialLimit, minLimit, maxLimit, 0);
+    }
+
+    /**
+     * Take an in-flight slot if fewer than {@link #getLimit()} calls are running.
+     *
+     * @return true if the call may proceed; it must then be followed by {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Report a finished call and its latency; frees the slot and adapts the limit.
+     */
+    public void release(long latencyNanos) {
+        int current = inflight.getAndDecrement();
+        if (algorithm == Algorithm.AIMD) {
+            updateAimd(latencyNanos, current);
+        } else {
+            updateGradient(latencyNanos);
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void updateAimd(long latencyNanos, int inflightAtRelease) {
+        boolean beforeBackoff = issuedBeforeBackoff.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+        boolean slow = latencyNanos > latencyTargetNanos;
+        if (slow && beforeBackoff) {
+            // Same congestion event the last backoff already answered
+            return;
+        }
+        while (true) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            double next;
+            if (slow) {
+                next = current * BACKOFF_RATIO;
+            } else if (inflightAtRelease * 2 >= current) {
+                // Only grow while the limit is actually being used
+                next = current + 1 / current;
+            } else {
+                return;
+            }
+            if (limit.compareAndSet(bits, Double.doubleToRawLongBits(clamp(next)))) {
+                if (slow) {
+                    issuedBeforeBackoff.set(inflight.get());
+                }
+                return;
+            }
+        }
+    }
+
+    private void updateGradient(long latencyNanos) {
+        double sample = Math.max(1, latencyNanos);
+        double baseline = updateLongTermRtt(sample);
+        while (true) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            double gradient = Math.max(0.5, Math.min(1.0, GRADIENT_TOLERANCE * baseline / sample));
+            double target = current * gradient + Math.sqrt(current);
+            double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+            if (limit.compareAndSet(bits, Double.doubleToRawLongBits(clamp(next)))) {
+                return;
+            }
+        }
+    }
+
+    // Exponential moving average of latency, the "no queueing" baseline
+    private double updateLongTermRtt(double sample) {
+        while (true) {
+            long bits = longTermRtt.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0 ? sample : current * (1 - LONG_TERM_WEIGHT) + sample * LONG_TERM_WEIGHT;
+            if (longTermRtt.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return next;
+            }
+        }
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
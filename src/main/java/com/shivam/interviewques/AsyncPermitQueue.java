@@ -0,0 +1,96 @@
+package com.shivam.interviewques;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FIFO of {@link RateLimiter#acquireAsync()} callers waiting on one limiter.
+ * Only the head of the queue retries, and one timer per limiter drives the
+ * retries, so n waiters cost one tryConsume per wake-up instead of n waking at
+ * the same deadline and n - 1 of them re-arming.
+ */
+final class AsyncPermitQueue {
+
+    private static final int IDLE = 0;
+    private static final int DRAINING = 1;
+    private static final int ARMED = 2;
+
+    // Weak keys: a limiter nobody references any more takes its (empty) queue with it
+    private static final Map<RateLimiter, AsyncPermitQueue> QUEUES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private record Waiter(CompletableFuture<Void> future, Executor executor, TimerWheel wheel) {
+    }
+
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    // IDLE: nobody drains; DRAINING: one thread hands out permits; ARMED: a timer will drain
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    private AsyncPermitQueue() {
+    }
+
+    /**
+     * Complete {@code future} once a permit of {@code limiter} has been consumed for it;
+     * a future that had to wait is completed on {@code executor}, and retries run on {@code wheel}.
+     */
+    static void acquire(RateLimiter limiter, CompletableFuture<Void> future, Executor executor,
+                        TimerWheel wheel) {
+        AsyncPermitQueue queue = QUEUES.computeIfAbsent(limiter, k -> new AsyncPermitQueue());
+        // Nobody waiting: take the permit on the caller's thread, as a synchronous caller would
+        if (queue.waiters.isEmpty() && limiter.tryConsume()) {
+            complete(limiter, future);
+            return;
+        }
+        queue.waiters.add(new Waiter(future, executor, wheel));
+        if (queue.state.compareAndSet(IDLE, DRAINING)) {
+            queue.drain(limiter);
+        }
+    }
+
+    // Runs with state DRAINING; leaves it IDLE with nobody waiting, or ARMED with a timer scheduled
+    private void drain(RateLimiter limiter) {
+        while (true) {
+            Waiter head = waiters.peek();
+            if (head == null) {
+                state.set(IDLE);
+                // A waiter added after the peek saw DRAINING and left the work to us
+                if (waiters.isEmpty() || !state.compareAndSet(IDLE, DRAINING)) {
+                    return;
+                }
+                continue;
+            }
+            if (head.future().isDone()) {
+                // Cancelled or completed elsewhere while queued: no permit for it
+                waiters.poll();
+                continue;
+            }
+            if (!limiter.tryConsume()) {
+                state.set(ARMED);
+                head.wheel().schedule(() -> {
+                    state.set(DRAINING);
+                    drain(limiter);
+                }, limiter.nanosUntilAvailable());
+                return;
+            }
+            waiters.poll();
+            // Dependent stages run on the completing thread; keep them off the drainer and the wheel thread
+            try {
+                head.executor().execute(() -> complete(limiter, head.future()));
+            } catch (RejectedExecutionException e) {
+                complete(limiter, head.future());
+            }
+        }
+    }
+
+    // A future cancelled after its permit was taken hands the permit back
+    private static void complete(RateLimiter limiter, CompletableFuture<Void> future) {
+        if (!future.complete(null)) {
+            limiter.refund(1);
+        }
+    }
+}
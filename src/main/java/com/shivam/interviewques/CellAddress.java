@@ -0,0 +1,87 @@
+package com.shivam.interviewques;
+
+/**
+ * Converts spreadsheet cell names like "B12" to zero-based (row, column) and back.
+ * A cell is also packed into one long, row in the high 32 bits and column in the
+ * low 32 bits, so sheets can key cells without allocating a String per address.
+ */
+public final class CellAddress {
+
+    // Excel's limit, "XFD"; column-major stores size their column tables by it
+    public static final int MAX_COLUMNS = 16384;
+
+    private CellAddress() {
+    }
+
+    public static boolean isValid(String cell) {
+        int i = 0;
+        int n = cell.length();
+        while (i < n && Character.isLetter(cell.charAt(i))) {
+            i++;
+        }
+        int letters = i;
+        if (letters == 0 || letters > 3 || i == n || cell.charAt(i) == '0') {
+            return false;
+        }
+        int column = column(cell);
+        if (column < 0 || column >= MAX_COLUMNS) {
+            return false;
+        }
+        while (i < n && Character.isDigit(cell.charAt(i))) {
+            i++;
+        }
+        return i == n && n - letters <= 9;
+    }
+
+    /**
+     * "B12" -> pack(11, 1).
+     */
+    public static long parse(String cell) {
+        if (!isValid(cell)) {
+            throw new IllegalArgumentException("Invalid cell: " + cell);
+        }
+        return pack(row(cell), column(cell));
+    }
+
+    public static long pack(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    public static int rowOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    public static int columnOf(long address) {
+        return (int) address;
+    }
+
+    public static String name(long address) {
+        return name(rowOf(address), columnOf(address));
+    }
+
+    // "A" -> 0, "Z" -> 25, "AA" -> 26
+    public static int column(String cell) {
+        int column = 0;
+        for (int i = 0; i < cell.length() && Character.isLetter(cell.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(cell.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    // "A1" -> 0
+    public static int row(String cell) {
+        int i = 0;
+        while (i < cell.length() && Character.isLetter(cell.charAt(i))) {
+            i++;
+        }
+        return Integer.parseInt(cell, i, cell.length(), 10) - 1;
+    }
+
+    public static String name(int row, int column) {
+        StringBuilder letters = new StringBuilder();
+        for (int c = column + 1; c > 0; c = (c - 1) / 26) {
+            letters.append((char) ('A' + (c - 1) % 26));
+        }
+        return letters.reverse().append(row + 1).toString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.shivam.interviewques;
+
+import java.util.Map;
+
+/**
+ * One batched change notification for a subscribed cell or range.
+ *
+ * @param cycle  recalculation cycle of the newest change in the batch
+ * @param values changed cell name -> value as {@link ExcelSheet#getCell} shows it,
+ *               latest value only when several cycles were coalesced
+ */
+public record CellChanges(long cycle, Map<String, String> values) {
+}
@@ -0,0 +1,99 @@
+package com.shivam.interviewques;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Cell contents of an {@link ExcelSheet}, addressed by packed {@link CellAddress}.
+ * Numbers and formula results are kept as primitives; text and formula input
+ * as (interned) strings.
+ */
+public interface CellStore {
+
+    byte EMPTY = 0;
+    byte NUMBER = 1;
+    byte TEXT = 2;
+    byte FORMULA = 3;
+
+    byte kind(long address);
+
+    /**
+     * Value of a {@link #NUMBER} cell, or the last result of a {@link #FORMULA} cell.
+     */
+    double number(long address);
+
+    /**
+     * Input of a {@link #TEXT} or {@link #FORMULA} cell, null for the others.
+     */
+    String text(long address);
+
+    /**
+     * Error of a {@link #FORMULA} cell, e.g. "#DIV/0!", or null.
+     */
+    String error(long address);
+
+    void setNumber(long address, double value);
+
+    /**
+     * Store text or formula input; {@code kind} is {@link #TEXT} or {@link #FORMULA}.
+     * A new formula starts with result 0 and no error.
+     */
+    void setText(long address, byte kind, String value);
+
+    /**
+     * Record the result of a {@link #FORMULA} cell; {@code error} is null on success.
+     */
+    void setResult(long address, double value, String error);
+
+    void clear(long address);
+
+    /**
+     * Hint that cells up to {@code rows} x {@code columns} are about to be written,
+     * so storage can be sized once instead of growing step by step.
+     */
+    default void reserve(int rows, int columns) {
+    }
+
+    /**
+     * Number of non-empty cells.
+     */
+    long size();
+
+    /**
+     * Upper bound of the rows ever written (exclusive); never shrinks.
+     */
+    int rows();
+
+    /**
+     * Upper bound of the columns ever written (exclusive); never shrinks.
+     */
+    int columns();
+
+    /**
+     * Call {@code action} with the address of every {@link #FORMULA} cell,
+     * e.g. to rebuild the dependency graph of a reopened sheet.
+     */
+    void forEachFormula(LongConsumer action);
+
+    /**
+     * The cell as typed: numbers in their shortest form, "" when empty.
+     */
+    default String get(long address) {
+        switch (kind(address)) {
+            case NUMBER: return ExcelSheet.format(number(address));
+            case TEXT:
+            case FORMULA: return text(address);
+            default: return "";
+        }
+    }
+
+    /**
+     * The cell as shown: like {@link #get} but with results for formulas.
+     */
+    default String display(long address) {
+        if (kind(address) != FORMULA) {
+            return get(address);
+        }
+        String error = error(address);
+        return error != null ? error : ExcelSheet.format(number(address));
+    }
+}
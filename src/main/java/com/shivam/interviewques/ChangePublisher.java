@@ -0,0 +1,198 @@
+package com.shivam.interviewques;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * {@link Flow.Publisher} of changes to one cell range of an {@link ExcelSheet}.
+ * <p>
+ * The sheet stages changed cells during a recalculation cycle and flushes them
+ * once at its end, so a bulk edit produces one {@link CellChanges} per cycle,
+ * not one per cell. Each subscriber has its own pending map of cell -> latest
+ * value: while it has no demand, new cycles are merged into that map instead of
+ * queueing more events. Memory per subscriber is bounded by the range size, the
+ * sheet never waits for a slow subscriber, and it always ends up with the latest
+ * values. Signals, including onError, are delivered serially on the given executor.
+ * <p>
+ * The publisher is registered with its sheet only while it has subscribers, so
+ * publishers whose subscribers all cancelled cost the sheet's writes nothing.
+ */
+public class ChangePublisher implements Flow.Publisher<CellChanges> {
+
+    private final Formula.Range range;
+    private final Executor executor;
+    // The sheet's list of publishers to stage changes in
+    private final List<ChangePublisher> registry;
+    private final CopyOnWriteArrayList<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Touched only by the sheet's writer thread
+    private final LinkedHashSet<Long> staged = new LinkedHashSet<>();
+
+    ChangePublisher(Formula.Range range, Executor executor, List<ChangePublisher> registry) {
+        this.range = range;
+        this.executor = executor;
+        this.registry = registry;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super CellChanges> subscriber) {
+        ChangeSubscription subscription = new ChangeSubscription(subscriber);
+        synchronized (this) {
+            if (subscriptions.isEmpty()) {
+                registry.add(this);
+            }
+            subscriptions.add(subscription);
+        }
+        subscription.schedule(() -> subscriber.onSubscribe(subscription));
+    }
+
+    // The last subscription to leave takes the publisher off the sheet
+    private synchronized void unsubscribe(ChangeSubscription subscription) {
+        if (subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+            registry.remove(this);
+        }
+    }
+
+    public int getNumberOfSubscribers() {
+        return subscriptions.size();
+    }
+
+    boolean covers(long address) {
+        int row = CellAddress.rowOf(address);
+        int column = CellAddress.columnOf(address);
+        return row >= range.firstRow() && row <= range.lastRow()
+                && column >= range.firstColumn() && column <= range.lastColumn();
+    }
+
+    void stage(long address) {
+        if (!subscriptions.isEmpty() && covers(address)) {
+            staged.add(address);
+        }
+    }
+
+    // End of a recalculation cycle: hand every subscriber one batch
+    void flush(long cycle, LongFunction<String> display) {
+        if (staged.isEmpty()) {
+            return;
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (long address : staged) {
+            values.put(CellAddress.name(address), display.apply(address));
+        }
+        staged.clear();
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.offer(cycle, values);
+        }
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super CellChanges> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean subscribed;
+        // Set by fail(), signalled by deliver() so it cannot overlap an onNext
+        private volatile Throwable error;
+        // Touched only inside deliver()
+        private boolean terminated;
+        // Guarded by this
+        private LinkedHashMap<String, String> pending = new LinkedHashMap<>();
+        private long pendingCycle;
+
+        ChangeSubscription(Flow.Subscriber<? super CellChanges> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("request must be positive: " + n));
+                drain();
+                return;
+            }
+            demand.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            unsubscribe(this);
+        }
+
+        private void fail(Throwable failure) {
+            if (error == null) {
+                error = failure;
+            }
+            cancel();
+        }
+
+        void offer(long cycle, Map<String, String> values) {
+            synchronized (this) {
+                // Later values replace earlier ones for the same cell
+                pending.putAll(values);
+                pendingCycle = cycle;
+            }
+            drain();
+        }
+
+        void schedule(Runnable onSubscribe) {
+            executor.execute(() -> {
+                onSubscribe.run();
+                subscribed = true;
+                drain();
+            });
+        }
+
+        // Serial delivery: only the thread that moves wip from 0 runs the loop
+        private void drain() {
+            if (subscribed && wip.getAndIncrement() == 0) {
+                executor.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            int missed = 1;
+            while (true) {
+                while (!cancelled && demand.get() > 0) {
+                    CellChanges batch;
+                    synchronized (this) {
+                        if (pending.isEmpty()) {
+                            break;
+                        }
+                        batch = new CellChanges(pendingCycle, Collections.unmodifiableMap(pending));
+                        pending = new LinkedHashMap<>();
+                    }
+                    demand.decrementAndGet();
+                    try {
+                        subscriber.onNext(batch);
+                    } catch (RuntimeException e) {
+                        // A failing subscriber is dropped, it must not break the sheet's delivery
+                        fail(e);
+                    }
+                }
+                Throwable failure = error;
+                if (failure != null && !terminated) {
+                    terminated = true;
+                    try {
+                        subscriber.onError(failure);
+                    } catch (RuntimeException ignored) {
+                        // Nothing left to tell a subscriber whose onError throws
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
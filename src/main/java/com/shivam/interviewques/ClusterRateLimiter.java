@@ -0,0 +1,173 @@
+package com.shivam.interviewques;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide fixed-window limiter: all nodes sharing a {@link QuotaStore}
+ * together allow {@code maxRequests} per window.
+ * Each node leases chunks of {@code leaseSize} permits and spends them locally
+ * with a CAS, so it only talks to the store when its lease runs out. Permits
+ * still leased when the window ends are forfeited, which keeps the global
+ * count at or under the limit; smaller leases waste less but hit the store more.
+ */
+public class ClusterRateLimiter implements RateLimiter {
+
+    // Window ids must line up across nodes, so the default clock is wall-clock based
+    private static final NanoClock EPOCH_CLOCK = () -> System.currentTimeMillis() * 1_000_000L;
+
+    private final String name;
+    private final QuotaStore store;
+    private final int leaseSize;
+    private final NanoClock clock;
+    private volatile Limits limits;
+
+    private record Limits(int maxRequests, long windowNanos) { }
+
+    // Local lease packed as (window id, remaining permits)
+    private final AtomicLong lease = new AtomicLong(pack(Long.MIN_VALUE, 0));
+    // Permits leased from the store in a window, packed the same way; written under the monitor
+    private volatile long leasedInWindow = pack(Long.MIN_VALUE, 0);
+    // Window in which the store reported the global quota as used up
+    private volatile long exhaustedWindow = Long.MIN_VALUE;
+
+    public ClusterRateLimiter(String name, RateLimiterConfig config, QuotaStore store, int leaseSize) {
+        this(name, config, store, leaseSize, EPOCH_CLOCK);
+    }
+
+    public ClusterRateLimiter(String name, RateLimiterConfig config, QuotaStore store, int leaseSize,
+                              NanoClock clock) {
+        if (leaseSize < 1) {
+            throw new IllegalArgumentException("leaseSize must be >= 1");
+        }
+        this.name = name;
+        this.limits = new Limits(config.maxRequests(), config.window().toNanos());
+        this.store = store;
+        this.leaseSize = leaseSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean tryConsume(int permits) {
+        RateLimiter.checkPermits(permits);
+        long windowId = windowId(clock.nanoTime());
+        if (takeLocal(windowId, permits, permits) == permits) {
+            return true;
+        }
+        return refillAndTake(windowId, permits, permits) == permits;
+    }
+
+    @Override
+    public int tryConsumeUpTo(int max) {
+        RateLimiter.checkPermits(max);
+        long windowId = windowId(clock.nanoTime());
+        int granted = takeLocal(windowId, 1, max);
+        return granted > 0 ? granted : refillAndTake(windowId, 1, max);
+    }
+
+    /**
+     * Refunded permits go back to this node's lease; they are not returned to the store.
+     */
+    @Override
+    public void refund(int permits) {
+        RateLimiter.checkPermits(permits);
+        long windowId = windowId(clock.nanoTime());
+        while (true) {
+            long current = lease.get();
+            if (windowOf(current) != (int) windowId
+                    || lease.compareAndSet(current, pack(windowId, remaining(current) + permits))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long nanosUntilAvailable() {
+        long now = clock.nanoTime();
+        long windowId = windowId(now);
+        long current = lease.get();
+        if (exhaustedWindow != windowId || (windowOf(current) == (int) windowId && remaining(current) > 0)) {
+            return 0;
+        }
+        return (windowId + 1) * limits.windowNanos() - now;
+    }
+
+    /**
+     * Permits this node has spent in the current window: leased minus what is left
+     * of the lease. Other nodes' use is not included; only the store knows the total.
+     */
+    @Override
+    public long occupancy() {
+        long windowId = windowId(clock.nanoTime());
+        long taken = leasedInWindow;
+        long current = lease.get();
+        if (windowOf(taken) != (int) windowId) {
+            return 0;
+        }
+        int left = windowOf(current) == (int) windowId ? remaining(current) : 0;
+        // Refunds may hand back more than this node spent
+        return Math.max(0, remaining(taken) - left);
+    }
+
+    /**
+     * New limits apply to the next lease; permits already leased stay valid.
+     */
+    @Override
+    public void reconfigure(RateLimiterConfig config) {
+        this.limits = new Limits(config.maxRequests(), config.window().toNanos());
+    }
+
+    // Spend between min and max permits from the local lease, or none
+    private int takeLocal(long windowId, int min, int max) {
+        while (true) {
+            long current = lease.get();
+            int remaining = windowOf(current) == (int) windowId ? remaining(current) : 0;
+            if (remaining < min) {
+                return 0;
+            }
+            int granted = Math.min(remaining, max);
+            if (lease.compareAndSet(current, pack(windowId, remaining - granted))) {
+                return granted;
+            }
+        }
+    }
+
+    // Slow path: one thread per node goes to the shared store
+    private synchronized int refillAndTake(long windowId, int min, int max) {
+        // Re-read the time so a caller that waited on the monitor never leases for an older window
+        windowId = Math.max(windowId, windowId(clock.nanoTime()));
+        int granted = takeLocal(windowId, min, max);
+        if (granted > 0 || exhaustedWindow == windowId) {
+            return granted;
+        }
+        long current = lease.get();
+        int remaining = windowOf(current) == (int) windowId ? remaining(current) : 0;
+        int leased = store.lease(name, windowId, limits.maxRequests(), Math.max(leaseSize, max - remaining));
+        if (leased == 0) {
+            exhaustedWindow = windowId;
+        }
+        long taken = leasedInWindow;
+        leasedInWindow = pack(windowId, (windowOf(taken) == (int) windowId ? remaining(taken) : 0) + leased);
+        // Only this method adds to the lease, and it runs under the monitor
+        while (!lease.compareAndSet(current, pack(windowId, remaining + leased))) {
+            current = lease.get();
+            remaining = windowOf(current) == (int) windowId ? remaining(current) : 0;
+        }
+        return takeLocal(windowId, min, max);
+    }
+
+    private long windowId(long now) {
+        return Math.floorDiv(now, limits.windowNanos());
+    }
+
+    private static long pack(long windowId, int remaining) {
+        return (windowId << 32) | (remaining & 0xFFFFFFFFL);
+    }
+
+    private static int windowOf(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int remaining(long packed) {
+        return (int) packed;
+    }
+}
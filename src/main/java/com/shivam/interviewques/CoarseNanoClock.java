@@ -0,0 +1,36 @@
+package com.shivam.interviewques;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cached monotonic clock refreshed by a daemon thread every millisecond.
+ * Reading it is a single volatile load, at the cost of up to 1 ms of staleness.
+ */
+public final class CoarseNanoClock implements NanoClock {
+
+    private static final class Holder {
+        static final CoarseNanoClock SHARED = new CoarseNanoClock(1_000_000L);
+    }
+
+    private volatile long now = System.nanoTime();
+
+    private CoarseNanoClock(long resolutionNanos) {
+        Thread ticker = new Thread(() -> {
+            while (true) {
+                LockSupport.parkNanos(resolutionNanos);
+                now = System.nanoTime();
+            }
+        }, "coarse-nano-clock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    public static CoarseNanoClock shared() {
+        return Holder.SHARED;
+    }
+
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+}
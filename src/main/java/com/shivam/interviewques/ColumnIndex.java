@@ -0,0 +1,252 @@
+package com.shivam.interviewques;
+
+import java.util.Arrays;
+
+/**
+ * Aggregate index over the rows of one sheet column, answering SUM, MIN, MAX
+ * and COUNT of a row range in O(log n) and staying correct under point updates.
+ * <p>
+ * Sums and counts live in Fenwick (binary indexed) trees, min/max in iterative
+ * segment trees. Sum nodes are recomputed from their children on update instead
+ * of being patched with a delta, so repeated updates never accumulate rounding
+ * error (O(log^2 n) per update, O(log n) per query).
+ * The index covers rows [0, capacity); capacity is a power of two and doubles
+ * without a rebuild, since the old trees become the left halves of the new ones.
+ */
+public class ColumnIndex {
+
+    private static final byte EMPTY = 0;
+    private static final byte NUMBER = 1;
+    private static final byte ERROR = 2;
+
+    private int capacity;
+    private byte[] states = new byte[0];
+    private double[] values = new double[0];
+    // Fenwick trees, 1-based
+    private double[] sums = new double[1];
+    private int[] counts = new int[1];
+    private int[] errors = new int[1];
+    // Segment trees, root at 1, leaves at [capacity, 2 * capacity)
+    private double[] mins = new double[0];
+    private double[] maxs = new double[0];
+    // While true, set() only records values; endBulk() rebuilds the trees once
+    private boolean bulk;
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Grow to cover at least {@code rows} rows; new rows start empty.
+     *
+     * @return the previous capacity, so the caller can load rows from there on
+     */
+    public int grow(int rows) {
+        int old = capacity;
+        while (capacity < rows) {
+            doubleCapacity();
+        }
+        return old;
+    }
+
+    /**
+     * Defer tree maintenance for a bulk load; queries are invalid until {@link #endBulk()}.
+     */
+    public void beginBulk() {
+        bulk = true;
+    }
+
+    public boolean inBulk() {
+        return bulk;
+    }
+
+    /**
+     * Rebuild all trees from the recorded values in O(n log n) with small constants.
+     */
+    public void endBulk() {
+        bulk = false;
+        Arrays.fill(counts, 0);
+        Arrays.fill(errors, 0);
+        for (int i = 1; i <= capacity; i++) {
+            sums[i] = nodeSum(i);
+            counts[i] += states[i - 1] == NUMBER ? 1 : 0;
+            errors[i] += states[i - 1] == ERROR ? 1 : 0;
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                counts[parent] += counts[i];
+                errors[parent] += errors[i];
+            }
+        }
+        for (int row = 0; row < capacity; row++) {
+            boolean number = states[row] == NUMBER;
+            mins[row + capacity] = number ? values[row] : Double.POSITIVE_INFINITY;
+            maxs[row + capacity] = number ? values[row] : Double.NEGATIVE_INFINITY;
+        }
+        for (int i = capacity - 1; i >= 1; i--) {
+            mins[i] = Math.min(mins[2 * i], mins[2 * i + 1]);
+            maxs[i] = Math.max(maxs[2 * i], maxs[2 * i + 1]);
+        }
+    }
+
+    public void setNumber(int row, double value) {
+        set(row, NUMBER, value);
+    }
+
+    public void setEmpty(int row) {
+        set(row, EMPTY, 0);
+    }
+
+    /**
+     * Mark a cell whose value is an error; ranges over it are scanned so the error propagates.
+     */
+    public void setError(int row) {
+        set(row, ERROR, 0);
+    }
+
+    public double sum(int firstRow, int lastRow) {
+        return prefixSum(lastRow + 1) - prefixSum(firstRow);
+    }
+
+    /**
+     * Number of numeric cells in the rows.
+     */
+    public int count(int firstRow, int lastRow) {
+        return prefix(counts, lastRow + 1) - prefix(counts, firstRow);
+    }
+
+    public int errors(int firstRow, int lastRow) {
+        return prefix(errors, lastRow + 1) - prefix(errors, firstRow);
+    }
+
+    /**
+     * Smallest number in the rows, +infinity if there is none.
+     */
+    public double min(int firstRow, int lastRow) {
+        double result = Double.POSITIVE_INFINITY;
+        for (int lo = firstRow + capacity, hi = lastRow + capacity + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                result = Math.min(result, mins[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                result = Math.min(result, mins[--hi]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Largest number in the rows, -infinity if there is none.
+     */
+    public double max(int firstRow, int lastRow) {
+        double result = Double.NEGATIVE_INFINITY;
+        for (int lo = firstRow + capacity, hi = lastRow + capacity + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                result = Math.max(result, maxs[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                result = Math.max(result, maxs[--hi]);
+            }
+        }
+        return result;
+    }
+
+    private void set(int row, byte state, double value) {
+        byte oldState = states[row];
+        if (oldState == state && Double.compare(values[row], value) == 0) {
+            return;
+        }
+        states[row] = state;
+        values[row] = value;
+        if (bulk) {
+            return;
+        }
+
+        if (oldState == NUMBER) {
+            add(counts, row + 1, -1);
+        } else if (oldState == ERROR) {
+            add(errors, row + 1, -1);
+        }
+        if (state == NUMBER) {
+            add(counts, row + 1, 1);
+        } else if (state == ERROR) {
+            add(errors, row + 1, 1);
+        }
+
+        for (int i = row + 1; i <= capacity; i += i & -i) {
+            sums[i] = nodeSum(i);
+        }
+
+        int leaf = row + capacity;
+        mins[leaf] = state == NUMBER ? value : Double.POSITIVE_INFINITY;
+        maxs[leaf] = state == NUMBER ? value : Double.NEGATIVE_INFINITY;
+        for (int i = leaf >> 1; i >= 1; i >>= 1) {
+            mins[i] = Math.min(mins[2 * i], mins[2 * i + 1]);
+            maxs[i] = Math.max(maxs[2 * i], maxs[2 * i + 1]);
+        }
+    }
+
+    // Fenwick node i covers rows (i - lowbit(i), i]: its own value plus the nodes i-1, i-2, i-4, ...
+    private double nodeSum(int i) {
+        double sum = values[i - 1];
+        for (int step = 1; step < (i & -i); step <<= 1) {
+            sum += sums[i - step];
+        }
+        return sum;
+    }
+
+    private double prefixSum(int rows) {
+        double sum = 0;
+        for (int i = rows; i > 0; i -= i & -i) {
+            sum += sums[i];
+        }
+        return sum;
+    }
+
+    private static int prefix(int[] tree, int rows) {
+        int sum = 0;
+        for (int i = rows; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void add(int[] tree, int i, int delta) {
+        for (; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void doubleCapacity() {
+        int old = capacity;
+        int next = Math.max(1, old * 2);
+        states = Arrays.copyOf(states, next);
+        values = Arrays.copyOf(values, next);
+
+        // Fenwick: nodes <= old are unchanged, node 'next' covers everything, the rest is empty
+        sums = Arrays.copyOf(sums, next + 1);
+        counts = Arrays.copyOf(counts, next + 1);
+        errors = Arrays.copyOf(errors, next + 1);
+        if (old > 0) {
+            sums[next] = prefixSum(old);
+            counts[next] = prefix(counts, old);
+            errors[next] = prefix(errors, old);
+        }
+
+        // Segment tree: each level of the old tree becomes the left half of the next level down
+        double[] newMins = new double[2 * next];
+        double[] newMaxs = new double[2 * next];
+        Arrays.fill(newMins, Double.POSITIVE_INFINITY);
+        Arrays.fill(newMaxs, Double.NEGATIVE_INFINITY);
+        for (int width = 1; width <= old; width <<= 1) {
+            System.arraycopy(mins, width, newMins, 2 * width, width);
+            System.arraycopy(maxs, width, newMaxs, 2 * width, width);
+        }
+        if (old > 0) {
+            newMins[1] = newMins[2];
+            newMaxs[1] = newMaxs[2];
+        }
+        mins = newMins;
+        maxs = newMaxs;
+        capacity = next;
+    }
+}
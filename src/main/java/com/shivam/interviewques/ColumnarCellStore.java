@@ -0,0 +1,293 @@
+package com.shivam.interviewques;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Heap {@link CellStore} that keeps each column as chunks of {@value #CHUNK_SIZE} rows.
+ * A chunk is one {@code long[]} (number or formula result bits) plus one
+ * {@code byte[]} of kinds, so a numeric cell costs 9 bytes instead of a String key,
+ * a String value and a HashMap node. Text and error arrays are only allocated
+ * for chunks that hold text or formulas. Chunks are created on first write
+ * and dropped again when their last cell is cleared.
+ * <p>
+ * {@link #snapshot()} is copy-on-write: the snapshot shares every chunk and
+ * copies only the pointer arrays; the first later write to a shared chunk
+ * copies that chunk, so the snapshot never changes.
+ */
+public class ColumnarCellStore implements SnapshotCellStore {
+
+    static final int CHUNK_BITS = 12;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final class Chunk {
+        final long[] bits;
+        final byte[] kinds;
+        String[] texts;
+        String[] errors;
+        int used;
+        // Chunks from an older epoch may be shared with a snapshot: copy before writing
+        final int epoch;
+
+        Chunk(int epoch) {
+            this.bits = new long[CHUNK_SIZE];
+            this.kinds = new byte[CHUNK_SIZE];
+            this.epoch = epoch;
+        }
+
+        Chunk(Chunk from, int epoch) {
+            this.bits = from.bits.clone();
+            this.kinds = from.kinds.clone();
+            this.texts = from.texts == null ? null : from.texts.clone();
+            this.errors = from.errors == null ? null : from.errors.clone();
+            this.used = from.used;
+            this.epoch = epoch;
+        }
+    }
+
+    private Chunk[][] chunkColumns;
+    private final StringPool strings;
+    private final boolean readOnly;
+    private int epoch;
+    private long size;
+    private int rows;
+    private int columns;
+
+    public ColumnarCellStore() {
+        this.chunkColumns = new Chunk[16][];
+        this.strings = new StringPool();
+        this.readOnly = false;
+    }
+
+    private ColumnarCellStore(ColumnarCellStore from) {
+        this.chunkColumns = new Chunk[from.chunkColumns.length][];
+        for (int c = 0; c < chunkColumns.length; c++) {
+            if (from.chunkColumns[c] != null) {
+                chunkColumns[c] = from.chunkColumns[c].clone();
+            }
+        }
+        this.strings = null;
+        this.readOnly = true;
+        this.size = from.size;
+        this.rows = from.rows;
+        this.columns = from.columns;
+    }
+
+    @Override
+    public byte kind(long address) {
+        Chunk chunk = chunk(address);
+        return chunk == null ? EMPTY : chunk.kinds[CellAddress.rowOf(address) & CHUNK_MASK];
+    }
+
+    @Override
+    public double number(long address) {
+        Chunk chunk = chunk(address);
+        int i = CellAddress.rowOf(address) & CHUNK_MASK;
+        if (chunk == null || (chunk.kinds[i] != NUMBER && chunk.kinds[i] != FORMULA)) {
+            return 0;
+        }
+        return Double.longBitsToDouble(chunk.bits[i]);
+    }
+
+    @Override
+    public String text(long address) {
+        Chunk chunk = chunk(address);
+        return chunk == null || chunk.texts == null ? null : chunk.texts[CellAddress.rowOf(address) & CHUNK_MASK];
+    }
+
+    @Override
+    public String error(long address) {
+        Chunk chunk = chunk(address);
+        return chunk == null || chunk.errors == null ? null : chunk.errors[CellAddress.rowOf(address) & CHUNK_MASK];
+    }
+
+    @Override
+    public void setNumber(long address, double value) {
+        Chunk chunk = chunkForWrite(address);
+        int i = CellAddress.rowOf(address) & CHUNK_MASK;
+        release(chunk, i);
+        chunk.kinds[i] = NUMBER;
+        chunk.bits[i] = Double.doubleToRawLongBits(value);
+    }
+
+    @Override
+    public void setText(long address, byte kind, String value) {
+        if (kind != TEXT && kind != FORMULA) {
+            throw new IllegalArgumentException("kind must be TEXT or FORMULA");
+        }
+        Chunk chunk = chunkForWrite(address);
+        int i = CellAddress.rowOf(address) & CHUNK_MASK;
+        // Acquire first so rewriting the same string never drops it from the pool
+        String shared = strings.acquire(value);
+        release(chunk, i);
+        if (chunk.texts == null) {
+            chunk.texts = new String[CHUNK_SIZE];
+        }
+        chunk.kinds[i] = kind;
+        chunk.texts[i] = shared;
+        chunk.bits[i] = 0;
+    }
+
+    @Override
+    public void setResult(long address, double value, String error) {
+        Chunk chunk = chunkForWrite(address);
+        int i = CellAddress.rowOf(address) & CHUNK_MASK;
+        if (chunk.kinds[i] != FORMULA) {
+            throw new IllegalStateException("Not a formula cell: " + CellAddress.name(address));
+        }
+        chunk.bits[i] = Double.doubleToRawLongBits(value);
+        if (error != null && chunk.errors == null) {
+            chunk.errors = new String[CHUNK_SIZE];
+        }
+        if (chunk.errors != null) {
+            chunk.errors[i] = error;
+        }
+    }
+
+    @Override
+    public void clear(long address) {
+        if (kind(address) == EMPTY) {
+            return;
+        }
+        Chunk chunk = chunkForWrite(address);
+        int i = CellAddress.rowOf(address) & CHUNK_MASK;
+        release(chunk, i);
+        chunk.kinds[i] = EMPTY;
+        chunk.bits[i] = 0;
+        chunk.used--;
+        size--;
+        if (chunk.used == 0) {
+            chunkColumns[CellAddress.columnOf(address)][CellAddress.rowOf(address) >>> CHUNK_BITS] = null;
+        }
+    }
+
+    @Override
+    public void reserve(int rows, int columns) {
+        if (readOnly || rows <= 0 || columns <= 0) {
+            return;
+        }
+        if (columns > CellAddress.MAX_COLUMNS) {
+            throw new IllegalArgumentException("At most " + CellAddress.MAX_COLUMNS + " columns: " + columns);
+        }
+        if (columns > chunkColumns.length) {
+            chunkColumns = Arrays.copyOf(chunkColumns, columns);
+        }
+        // Only the pointer arrays: chunks are still allocated on first write
+        int chunksPerColumn = ((rows - 1) >>> CHUNK_BITS) + 1;
+        for (int c = 0; c < columns; c++) {
+            Chunk[] chunks = chunkColumns[c];
+            if (chunks == null) {
+                chunkColumns[c] = new Chunk[chunksPerColumn];
+            } else if (chunks.length < chunksPerColumn) {
+                chunkColumns[c] = Arrays.copyOf(chunks, chunksPerColumn);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public void forEachFormula(LongConsumer action) {
+        for (int c = 0; c < chunkColumns.length; c++) {
+            Chunk[] chunks = chunkColumns[c];
+            for (int index = 0; chunks != null && index < chunks.length; index++) {
+                Chunk chunk = chunks[index];
+                if (chunk == null || chunk.texts == null) {
+                    continue;
+                }
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    if (chunk.kinds[i] == FORMULA) {
+                        action.accept(CellAddress.pack((index << CHUNK_BITS) + i, c));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public CellStore snapshot() {
+        if (readOnly) {
+            return this;
+        }
+        // Every existing chunk is now shared and gets copied on its next write
+        epoch++;
+        return new ColumnarCellStore(this);
+    }
+
+    /**
+     * Distinct strings currently interned.
+     */
+    public int distinctStrings() {
+        return strings.size();
+    }
+
+    // Frees the strings of a text/formula cell; counts the cell if it was empty
+    private void release(Chunk chunk, int i) {
+        byte kind = chunk.kinds[i];
+        if (kind == TEXT || kind == FORMULA) {
+            strings.release(chunk.texts[i]);
+            chunk.texts[i] = null;
+            if (chunk.errors != null) {
+                chunk.errors[i] = null;
+            }
+        } else if (kind == EMPTY) {
+            chunk.used++;
+            size++;
+        }
+    }
+
+    private Chunk chunk(long address) {
+        int column = CellAddress.columnOf(address);
+        if (column < 0 || column >= chunkColumns.length || chunkColumns[column] == null) {
+            return null;
+        }
+        Chunk[] chunks = chunkColumns[column];
+        int index = CellAddress.rowOf(address) >>> CHUNK_BITS;
+        return index < chunks.length ? chunks[index] : null;
+    }
+
+    private Chunk chunkForWrite(long address) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Snapshots are read-only");
+        }
+        int column = CellAddress.columnOf(address);
+        int row = CellAddress.rowOf(address);
+        if (column < 0 || column >= CellAddress.MAX_COLUMNS || row < 0) {
+            throw new IllegalArgumentException("Cell out of range: " + CellAddress.name(address));
+        }
+        int index = row >>> CHUNK_BITS;
+        rows = Math.max(rows, row + 1);
+        columns = Math.max(columns, column + 1);
+        if (column >= chunkColumns.length) {
+            chunkColumns = Arrays.copyOf(chunkColumns,
+                    Math.min(CellAddress.MAX_COLUMNS, Math.max(column + 1, chunkColumns.length * 2)));
+        }
+        Chunk[] chunks = chunkColumns[column];
+        if (chunks == null) {
+            chunks = chunkColumns[column] = new Chunk[Math.max(4, index + 1)];
+        } else if (index >= chunks.length) {
+            chunks = chunkColumns[column] = Arrays.copyOf(chunks, Math.max(index + 1, chunks.length * 2));
+        }
+        Chunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = chunks[index] = new Chunk(epoch);
+        } else if (chunk.epoch != epoch) {
+            chunk = chunks[index] = new Chunk(chunk, epoch);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,283 @@
+package com.shivam.interviewques;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe {@link ExcelSheet} for many writer and reader threads.
+ * <p>
+ * Writers use flat combining: every write is queued, and whichever writer holds
+ * the combiner lock applies all queued writes as one batch with a single
+ * recalculation, instead of each writer taking a global lock and recalculating
+ * on its own. setCell returns once its write is visible to readers.
+ * <p>
+ * Readers see copy-on-write {@link SnapshotCellStore#snapshot() snapshots}: a
+ * consistent point-in-time view (formula results always match their inputs)
+ * that later writes never modify, whatever they take. Snapshots are taken
+ * lazily, by the first read after a write batch, so a run of writes without
+ * reads copies no chunks. Readers read the latest snapshot through a volatile
+ * field and only take the combiner lock when writes have landed since it was taken.
+ */
+public class ConcurrentExcelSheet {
+
+    /**
+     * Immutable view of the sheet after some write batch.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final CellStore cells;
+
+        private Snapshot(long version, CellStore cells) {
+            this.version = version;
+            this.cells = cells;
+        }
+
+        /**
+         * Number of write batches applied before this view; grows with every batch.
+         */
+        public long version() {
+            return version;
+        }
+
+        public String getCell(String cell) {
+            return cells.display(CellAddress.parse(cell.toUpperCase()));
+        }
+
+        public String getFormula(String cell) {
+            return cells.get(CellAddress.parse(cell.toUpperCase()));
+        }
+
+        public long size() {
+            return cells.size();
+        }
+    }
+
+    private static final class PendingWrite {
+        final long address;
+        final String value;
+        // Written under the combiner lock, which the owner takes before reading them: set once applied or failed
+        boolean done;
+        RuntimeException failure;
+
+        PendingWrite(long address, String value) {
+            this.address = address;
+            this.value = value;
+        }
+    }
+
+    private final SnapshotCellStore cells = new ColumnarCellStore();
+    private final ExcelSheet sheet;
+    private final ReentrantLock combiner = new ReentrantLock();
+    private final ConcurrentLinkedQueue<PendingWrite> pending = new ConcurrentLinkedQueue<>();
+    private volatile Snapshot current;
+    // Write batches applied so far; written under the combiner lock
+    private volatile long version;
+
+    // Reused by the combiner for each batch
+    private long[] batchAddresses = new long[64];
+    private String[] batchValues = new String[64];
+    private PendingWrite[] batchWrites = new PendingWrite[64];
+
+    public ConcurrentExcelSheet() {
+        this(new RecalculationScheduler());
+    }
+
+    public ConcurrentExcelSheet(RecalculationScheduler scheduler) {
+        this.sheet = new ExcelSheet(cells, scheduler);
+        this.current = new Snapshot(0, cells.snapshot());
+    }
+
+    /**
+     * @throws RuntimeException whatever applying this write threw; other writes
+     *         combined into the same batch are not affected
+     */
+    public void setCell(String cell, String value) {
+        PendingWrite write = new PendingWrite(CellAddress.parse(cell.toUpperCase()),
+                Objects.requireNonNull(value, "value"));
+        pending.add(write);
+        combiner.lock();
+        try {
+            // Another writer may already have applied it as part of its batch
+            if (!write.done) {
+                applyPending();
+            }
+        } finally {
+            combiner.unlock();
+        }
+        if (write.failure != null) {
+            throw write.failure;
+        }
+    }
+
+    /**
+     * Write many cells; they become visible to readers together, in one snapshot.
+     * All addresses and values are checked before anything is queued.
+     */
+    public void setCells(Map<String, String> values) {
+        PendingWrite[] writes = new PendingWrite[values.size()];
+        int n = 0;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            writes[n++] = new PendingWrite(CellAddress.parse(entry.getKey().toUpperCase()),
+                    Objects.requireNonNull(entry.getValue(), "value"));
+        }
+        combiner.lock();
+        try {
+            for (PendingWrite write : writes) {
+                pending.add(write);
+            }
+            applyPending();
+        } finally {
+            combiner.unlock();
+        }
+        for (PendingWrite write : writes) {
+            if (write.failure != null) {
+                throw write.failure;
+            }
+        }
+    }
+
+    /**
+     * Value as of the latest write batch.
+     */
+    public String getCell(String cell) {
+        return snapshot().getCell(cell);
+    }
+
+    /**
+     * Changes to a cell or range, one coalesced batch per write batch; see {@link ChangePublisher}.
+     */
+    public Flow.Publisher<CellChanges> changes(String cellOrRange) {
+        combiner.lock();
+        try {
+            return sheet.changes(cellOrRange);
+        } finally {
+            combiner.unlock();
+        }
+    }
+
+    /**
+     * Latest point-in-time view, for reading several cells consistently. Only
+     * blocks, for at most one write batch, if writes landed since the last snapshot.
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = current;
+        if (snapshot.version() == version) {
+            return snapshot;
+        }
+        combiner.lock();
+        try {
+            snapshot = current;
+            if (snapshot.version() != version) {
+                snapshot = new Snapshot(version, cells.snapshot());
+                current = snapshot;
+            }
+            return snapshot;
+        } finally {
+            combiner.unlock();
+        }
+    }
+
+    private void applyPending() {
+        int count = 0;
+        PendingWrite write;
+        while ((write = pending.poll()) != null) {
+            if (count == batchWrites.length) {
+                batchAddresses = Arrays.copyOf(batchAddresses, count * 2);
+                batchValues = Arrays.copyOf(batchValues, count * 2);
+                batchWrites = Arrays.copyOf(batchWrites, count * 2);
+            }
+            batchAddresses[count] = write.address;
+            batchValues[count] = write.value;
+            batchWrites[count++] = write;
+        }
+        if (count == 0) {
+            return;
+        }
+        boolean applied = false;
+        try {
+            try {
+                sheet.apply(batchAddresses, batchValues, count);
+            } catch (RuntimeException e) {
+                // Redo the batch one write at a time, so only the owners of bad writes see a failure
+                for (int i = 0; i < count; i++) {
+                    try {
+                        sheet.apply(new long[]{batchAddresses[i]}, new String[]{batchValues[i]}, 1);
+                    } catch (RuntimeException failure) {
+                        batchWrites[i].failure = failure;
+                    }
+                }
+            }
+            // The next reader takes the snapshot
+            version++;
+            applied = true;
+        } finally {
+            for (int i = 0; i < count; i++) {
+                if (!applied && batchWrites[i].failure == null) {
+                    batchWrites[i].failure = new IllegalStateException("Write not applied: its batch failed");
+                }
+                batchWrites[i].done = true;
+                batchWrites[i] = null;
+                batchValues[i] = null;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentExcelSheet excel = new ConcurrentExcelSheet();
+        for (int row = 1; row <= 100; row++) {
+            excel.setCell("A" + row, "0");
+        }
+        excel.setCell("C1", "=SUM(A1:A100)");
+
+        // 4 writers update A1:A100 while 2 readers check that C1 always matches the A cells
+        AtomicLong checks = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            writers[w] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    excel.setCell("A" + (1 + random.nextInt(100)), Integer.toString(random.nextInt(1000)));
+                }
+            });
+        }
+        Thread[] readers = new Thread[2];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                while (writers[0].isAlive() || writers[writers.length - 1].isAlive()) {
+                    Snapshot view = excel.snapshot();
+                    long sum = 0;
+                    for (int row = 1; row <= 100; row++) {
+                        sum += Long.parseLong(view.getCell("A" + row));
+                    }
+                    if (sum != Long.parseLong(view.getCell("C1"))) {
+                        mismatches.incrementAndGet();
+                    }
+                    checks.incrementAndGet();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread t : writers) {
+            t.start();
+        }
+        for (Thread t : readers) {
+            t.start();
+        }
+        for (Thread t : writers) {
+            t.join();
+        }
+        for (Thread t : readers) {
+            t.join();
+        }
+        System.out.println("80k concurrent writes in " + (System.nanoTime() - start) / 1_000_000 + " ms, "
+                + excel.snapshot().version() + " batches; " + checks.get() + " snapshot checks, "
+                + mismatches.get() + " inconsistent");
+    }
+}
@@ -0,0 +1,176 @@
+package com.shivam.interviewques;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Edges between formula cells and the cells they read, keyed by packed {@link CellAddress}.
+ * Single-cell references and small ranges are stored per cell; large ranges are
+ * stored once per column they span, so "=SUM(A1:A1000000)" costs one edge
+ * instead of a million.
+ */
+public class DependencyGraph {
+
+    // Ranges with more cells than this are kept as range edges
+    static final int EXPANDED_RANGE_CELLS = 64;
+
+    private record RangeEdge(Formula.Range range, long dependent) {
+        boolean contains(int row) {
+            return row >= range.firstRow() && row <= range.lastRow();
+        }
+    }
+
+    private record Precedents(Set<Long> cells, List<RangeEdge> ranges) {
+    }
+
+    private final Map<Long, Precedents> precedents = new HashMap<>();
+    private final Map<Long, Set<Long>> dependents = new HashMap<>();
+    private final Map<Integer, List<RangeEdge>> rangeDependents = new HashMap<>();
+
+    /**
+     * Replace what {@code cell} reads; empty arguments remove its formula edges.
+     */
+    public void setPrecedents(long cell, Set<Long> reads, List<Formula.Range> ranges) {
+        Precedents old = precedents.remove(cell);
+        if (old != null) {
+            for (long p : old.cells()) {
+                Set<Long> users = dependents.get(p);
+                users.remove(cell);
+                if (users.isEmpty()) {
+                    dependents.remove(p);
+                }
+            }
+            for (RangeEdge edge : old.ranges()) {
+                for (int c = edge.range().firstColumn(); c <= edge.range().lastColumn(); c++) {
+                    List<RangeEdge> edges = rangeDependents.get(c);
+                    edges.remove(edge);
+                    if (edges.isEmpty()) {
+                        rangeDependents.remove(c);
+                    }
+                }
+            }
+        }
+
+        Set<Long> cells = new HashSet<>(reads);
+        List<RangeEdge> edges = new ArrayList<>();
+        for (Formula.Range range : ranges) {
+            long size = (long) (range.lastRow() - range.firstRow() + 1) * (range.lastColumn() - range.firstColumn() + 1);
+            if (size <= EXPANDED_RANGE_CELLS) {
+                for (int r = range.firstRow(); r <= range.lastRow(); r++) {
+                    for (int c = range.firstColumn(); c <= range.lastColumn(); c++) {
+                        cells.add(CellAddress.pack(r, c));
+                    }
+                }
+            } else {
+                edges.add(new RangeEdge(range, cell));
+            }
+        }
+        if (cells.isEmpty() && edges.isEmpty()) {
+            return;
+        }
+        precedents.put(cell, new Precedents(cells, edges));
+        for (long p : cells) {
+            dependents.computeIfAbsent(p, k -> new HashSet<>()).add(cell);
+        }
+        for (RangeEdge edge : edges) {
+            for (int c = edge.range().firstColumn(); c <= edge.range().lastColumn(); c++) {
+                rangeDependents.computeIfAbsent(c, k -> new ArrayList<>()).add(edge);
+            }
+        }
+    }
+
+    /**
+     * Call {@code action} once per edge from {@code cell} to a formula that reads it.
+     */
+    public void forEachDependent(long cell, LongConsumer action) {
+        Set<Long> users = dependents.get(cell);
+        if (users != null) {
+            for (long d : users) {
+                action.accept(d);
+            }
+        }
+        List<RangeEdge> edges = rangeDependents.get(CellAddress.columnOf(cell));
+        if (edges != null) {
+            int row = CellAddress.rowOf(cell);
+            for (RangeEdge edge : edges) {
+                if (edge.contains(row)) {
+                    action.accept(edge.dependent());
+                }
+            }
+        }
+    }
+
+    /**
+     * The changed cells plus everything that transitively depends on them (BFS).
+     */
+    public Set<Long> affectedBy(Iterable<Long> changed) {
+        Set<Long> affected = new LinkedHashSet<>();
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        for (long cell : changed) {
+            if (affected.add(cell)) {
+                queue.add(cell);
+            }
+        }
+        while (!queue.isEmpty()) {
+            forEachDependent(queue.poll(), d -> {
+                if (affected.add(d)) {
+                    queue.add(d);
+                }
+            });
+        }
+        return affected;
+    }
+
+    /**
+     * Kahn's algorithm restricted to {@code cells}: only edges inside the set count,
+     * since everything outside it is already up to date.
+     * Cells that are left over sit on (or behind) a cycle and go to {@code cyclic}.
+     */
+    public List<Long> topologicalOrder(Set<Long> cells, Set<Long> cyclic) {
+        Map<Long, Integer> inDegree = new HashMap<>();
+        for (long cell : cells) {
+            inDegree.putIfAbsent(cell, 0);
+            forEachDependent(cell, d -> {
+                if (cells.contains(d)) {
+                    inDegree.merge(d, 1, Integer::sum);
+                }
+            });
+        }
+        ArrayDeque<Long> ready = new ArrayDeque<>();
+        for (long cell : cells) {
+            if (inDegree.get(cell) == 0) {
+                ready.add(cell);
+            }
+        }
+
+        List<Long> order = new ArrayList<>(cells.size());
+        while (!ready.isEmpty()) {
+            long cell = ready.poll();
+            order.add(cell);
+            forEachDependent(cell, d -> {
+                Integer degree = inDegree.get(d);
+                if (degree != null && degree > 0) {
+                    inDegree.put(d, degree - 1);
+                    if (degree == 1) {
+                        ready.add(d);
+                    }
+                }
+            });
+        }
+        if (order.size() < cells.size()) {
+            for (long cell : cells) {
+                if (inDegree.get(cell) > 0) {
+                    cyclic.add(cell);
+                }
+            }
+        }
+        return order;
+    }
+}
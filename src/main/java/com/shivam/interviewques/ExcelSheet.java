@@ -1,26 +1,688 @@
 package com.shivam.interviewques;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 
+/**
+ * Sheet of cells holding plain values or formulas like "=A1+B1*2" or "=SUM(A1:A1000)".
+ * <p>
+ * Cells are addressed by packed {@link CellAddress} longs and kept in a
+ * {@link CellStore}, by default column chunks of primitives.
+ * Formula cells are parsed once and linked in a {@link DependencyGraph}.
+ * Setting a cell only recomputes the cells that transitively depend on it,
+ * in topological order; cells on a cycle show "#CYCLE!". Wide recalculations
+ * run level by level on a ForkJoinPool through a {@link RecalculationScheduler}.
+ * Tall ranges in SUM/MIN/MAX/COUNT/AVERAGE are answered in O(log n) from
+ * per-column {@link ColumnIndex} trees, kept up to date on every write.
+ */
 public class ExcelSheet {
-    HashMap<String, String> sheet = new HashMap<>();
+    private final CellStore cells;
 
+    private final HashMap<Long, Formula> formulas = new HashMap<>();
+    private final DependencyGraph graph = new DependencyGraph();
+    private final RecalculationScheduler scheduler;
+
+    // Ranges at least this many rows tall are answered from a ColumnIndex instead of a scan
+    static final int INDEXED_RANGE_ROWS = 64;
+    private final HashMap<Integer, ColumnIndex> indexes = new HashMap<>();
+    // Tall formula ranges per indexed column; the index is dropped with the last one
+    private final HashMap<Integer, Integer> indexUsers = new HashMap<>();
+    private boolean bulkLoading;
+
+    // Publishers that have subscribers; they add and remove themselves, maybe from subscriber threads
+    private final CopyOnWriteArrayList<ChangePublisher> publishers = new CopyOnWriteArrayList<>();
+    private long cycle;
+
+    // Addresses written since beginBatch(), null when no batch is open
+    private List<Long> batch;
+    // Raw input of each batch cell before its first write in the batch, for rollback()
+    private Map<Long, String> batchOriginals;
+    private List<ColumnIndex> batchDeferred = List.of();
+
+    private final Formula.Resolver resolver = new Formula.Resolver() {
+        public double valueOf(long address) {
+            return numericValue(address);
+        }
+
+        public void aggregate(Formula.Range range, Formula.Aggregate into) {
+            ExcelSheet.this.aggregate(range, into);
+        }
+    };
+
+    public ExcelSheet() {
+        this(new ColumnarCellStore());
+    }
+
+    public ExcelSheet(CellStore cells) {
+        this(cells, new RecalculationScheduler());
+    }
+
+    public ExcelSheet(CellStore cells, RecalculationScheduler scheduler) {
+        this.cells = cells;
+        this.scheduler = scheduler;
+        // A reopened store already holds values and results; only the formula graph is rebuilt
+        cells.forEachFormula(address -> link(address, null));
+    }
+
+    // Set value in cell (e.g., "A1"); values starting with "=" are formulas
     public void setCell(String cell, String value){
-        sheet.put(cell, value);
+        long address = CellAddress.parse(cell.toUpperCase());
+        if (batch != null) {
+            batchOriginals.putIfAbsent(address, cells.get(address));
+        }
+        store(address, value);
+        if (batch != null) {
+            batch.add(address);
+        } else {
+            recalculate(List.of(address));
+        }
     }
-    // Set value in cell (e.g., "A1")
 
+    /**
+     * Write many cells, then recalculate the affected formulas once.
+     * All addresses and values are checked before anything is written.
+     */
+    public void setCells(Map<String, String> values) {
+        long[] addresses = new long[values.size()];
+        String[] raw = new String[values.size()];
+        int rows = 0;
+        int columns = 0;
+        int n = 0;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            long address = CellAddress.parse(entry.getKey().toUpperCase());
+            rows = Math.max(rows, CellAddress.rowOf(address) + 1);
+            columns = Math.max(columns, CellAddress.columnOf(address) + 1);
+            addresses[n] = address;
+            raw[n++] = Objects.requireNonNull(entry.getValue(), "value");
+        }
+        cells.reserve(rows, columns);
+        apply(addresses, raw, n);
+    }
+
+    /**
+     * Start a batch: setCell/setCells only write until {@link #commit()}, which
+     * recalculates everything they affect once, or {@link #rollback()}, which
+     * puts back what the batch overwrote. Until then formulas show their old results.
+     *
+     * @param expectedCells number of writes expected, to presize the batch
+     */
+    public void beginBatch(int expectedCells) {
+        if (batch != null) {
+            throw new IllegalStateException("A batch is already open");
+        }
+        batch = new ArrayList<>(expectedCells);
+        batchOriginals = new HashMap<>();
+        batchDeferred = deferIndexes(expectedCells);
+    }
+
+    public void beginBatch() {
+        beginBatch(16);
+    }
+
+    public void commit() {
+        if (batch == null) {
+            throw new IllegalStateException("No open batch");
+        }
+        List<Long> changed = batch;
+        batch = null;
+        batchOriginals = null;
+        rebuildIndexes(batchDeferred);
+        batchDeferred = List.of();
+        recalculate(changed);
+    }
+
+    /**
+     * Undo the open batch: restore every cell it wrote, rebuild the column indexes
+     * and recalculate. Does nothing when no batch is open, so it can sit in a finally
+     * after a failed batch.
+     */
+    public void rollback() {
+        if (batch == null) {
+            return;
+        }
+        List<Long> changed = batch;
+        Map<Long, String> originals = batchOriginals;
+        batch = null;
+        batchOriginals = null;
+        try {
+            for (Map.Entry<Long, String> original : originals.entrySet()) {
+                store(original.getKey(), original.getValue());
+            }
+        } finally {
+            rebuildIndexes(batchDeferred);
+            batchDeferred = List.of();
+            recalculate(changed);
+        }
+    }
+
+    // Get value of cell: the computed result for formulas
     public String getCell(String cell){
-        return sheet.getOrDefault(cell,"");
+        return getCell(CellAddress.parse(cell.toUpperCase()));
+    }
+
+    String getCell(long address) {
+        return cells.display(address);
+    }
+
+    /**
+     * Changes to a cell ("B2") or range ("A1:C100"), one batch per recalculation
+     * cycle; see {@link ChangePublisher}. Delivered on the common ForkJoinPool.
+     */
+    public Flow.Publisher<CellChanges> changes(String cellOrRange) {
+        return changes(cellOrRange, ForkJoinPool.commonPool());
+    }
+
+    public Flow.Publisher<CellChanges> changes(String cellOrRange, Executor executor) {
+        String[] ends = cellOrRange.toUpperCase().split(":");
+        long first = CellAddress.parse(ends[0]);
+        long last = CellAddress.parse(ends[ends.length - 1]);
+        Formula.Range range = new Formula.Range(
+                Math.min(CellAddress.rowOf(first), CellAddress.rowOf(last)),
+                Math.min(CellAddress.columnOf(first), CellAddress.columnOf(last)),
+                Math.max(CellAddress.rowOf(first), CellAddress.rowOf(last)),
+                Math.max(CellAddress.columnOf(first), CellAddress.columnOf(last)));
+        return new ChangePublisher(range, executor, publishers);
+    }
+
+    // Get what was typed into the cell, e.g. "=A1+B1"
+    public String getFormula(String cell) {
+        return cells.get(CellAddress.parse(cell.toUpperCase()));
+    }
+
+    // Number of non-empty cells
+    public long size() {
+        return cells.size();
+    }
+
+    CellStore cellStore() {
+        return cells;
+    }
+
+    // Apply several writes in order, then recalculate once
+    void apply(long[] addresses, String[] values, int count) {
+        List<Long> changed = batch != null ? batch : new ArrayList<>(count);
+        List<ColumnIndex> deferred = deferIndexes(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                if (batch != null) {
+                    batchOriginals.putIfAbsent(addresses[i], cells.get(addresses[i]));
+                }
+                store(addresses[i], values[i]);
+                changed.add(addresses[i]);
+            }
+        } finally {
+            // Also after a failed write: indexes left in bulk mode would answer queries wrongly
+            rebuildIndexes(deferred);
+            if (batch == null) {
+                recalculate(changed);
+            }
+        }
+    }
+
+    // Indexes for which one O(n) rebuild is cheaper than this many O(log^2 n) updates
+    private List<ColumnIndex> deferIndexes(int writes) {
+        if (bulkLoading) {
+            return List.of();
+        }
+        List<ColumnIndex> deferred = new ArrayList<>();
+        for (ColumnIndex index : indexes.values()) {
+            // Indexes an open batch already deferred stay deferred until it ends
+            if (!index.inBulk() && (long) writes * 64 >= index.capacity()) {
+                index.beginBulk();
+                deferred.add(index);
+            }
+        }
+        return deferred;
+    }
+
+    private static void rebuildIndexes(List<ColumnIndex> deferred) {
+        for (ColumnIndex index : deferred) {
+            index.endBulk();
+        }
+    }
+
+    // Bulk loading: loadNumber/loadText write without recalculating or maintaining
+    // the column indexes; endBulkLoad() rebuilds the indexes and recalculates once
+    void beginBulkLoad() {
+        bulkLoading = true;
+        for (ColumnIndex index : indexes.values()) {
+            index.beginBulk();
+        }
+    }
+
+    void endBulkLoad() {
+        bulkLoading = false;
+        for (ColumnIndex index : indexes.values()) {
+            index.endBulk();
+        }
+        recalculateAll();
+    }
+
+    void loadNumber(long address, double value) {
+        if (cells.kind(address) == CellStore.FORMULA) {
+            store(address, format(value));
+            return;
+        }
+        cells.setNumber(address, value);
+        reindex(address);
+        stageChange(address);
+    }
+
+    void loadText(long address, String value) {
+        if (value.startsWith("=") || value.isEmpty() || cells.kind(address) == CellStore.FORMULA) {
+            store(address, value);
+            return;
+        }
+        // Plain value over a plain cell: no formula state or edges to touch
+        if (isCanonicalNumber(value)) {
+            cells.setNumber(address, Double.parseDouble(value));
+        } else {
+            cells.setText(address, CellStore.TEXT, value);
+        }
+        reindex(address);
+        stageChange(address);
+    }
+
+    // Every formula, hence every dependent of anything loaded, in one pass
+    private void recalculateAll() {
+        recalculate(new ArrayList<>(formulas.keySet()));
+    }
+
+    // Write the raw input and the formula edges, without recalculating
+    private void store(long address, String value) {
+        boolean wasFormula = cells.kind(address) == CellStore.FORMULA;
+        Formula old = wasFormula ? formulas.remove(address) : null;
+
+        boolean isFormula = value.startsWith("=");
+        if (isFormula) {
+            cells.setText(address, CellStore.FORMULA, value);
+        } else if (value.isEmpty()) {
+            cells.clear(address);
+        } else if (isCanonicalNumber(value)) {
+            cells.setNumber(address, Double.parseDouble(value));
+        } else {
+            cells.setText(address, CellStore.TEXT, value);
+        }
+        // Plain values have no edges, so plain over plain skips the graph entirely
+        if (wasFormula || isFormula) {
+            link(address, old);
+        }
+        reindex(address);
+        stageChange(address);
+    }
+
+    // Parse the cell's formula, if any, and (re)wire its edges and column indexes
+    private void link(long address, Formula old) {
+        Set<Long> reads = new HashSet<>();
+        List<Formula.Range> ranges = new ArrayList<>();
+        if (cells.kind(address) == CellStore.FORMULA) {
+            try {
+                Formula formula = FormulaParser.parse(cells.text(address).substring(1));
+                formula.forEachReference(reads::add);
+                formula.forEachRange(ranges::add);
+                formulas.put(address, formula);
+            } catch (FormulaException e) {
+                cells.setResult(address, 0, e.getMessage());
+            }
+        }
+        graph.setPrecedents(address, reads, ranges);
+        // Acquire before releasing, so an edit that keeps a range keeps its index
+        for (Formula.Range range : ranges) {
+            indexColumns(range);
+        }
+        if (old != null) {
+            old.forEachRange(this::releaseColumns);
+        }
+    }
+
+    private void recalculate(List<Long> changed) {
+        // A plain cell needs no evaluation itself, so start from what reads it
+        Set<Long> seeds = new LinkedHashSet<>();
+        for (long address : changed) {
+            if (formulas.containsKey(address)) {
+                seeds.add(address);
+            } else {
+                graph.forEachDependent(address, seeds::add);
+            }
+        }
+        Set<Long> affected = graph.affectedBy(seeds);
+        Set<Long> cyclic = new HashSet<>();
+        List<Long> order = new ArrayList<>();
+        for (long address : graph.topologicalOrder(affected, cyclic)) {
+            if (formulas.containsKey(address)) {
+                order.add(address);
+            }
+        }
+        scheduler.run(order, graph, this::compute, this::publish);
+        for (long address : cyclic) {
+            if (formulas.containsKey(address)) {
+                cells.setResult(address, 0, "#CYCLE!");
+                reindex(address);
+            }
+        }
+        for (long address : affected) {
+            stageChange(address);
+        }
+        endCycle();
+    }
+
+    private void stageChange(long address) {
+        for (int i = 0; i < publishers.size(); i++) {
+            publishers.get(i).stage(address);
+        }
+    }
+
+    // One batched notification per subscribed range for everything staged this cycle
+    private void endCycle() {
+        cycle++;
+        for (ChangePublisher publisher : publishers) {
+            publisher.flush(cycle, cells::display);
+        }
+    }
+
+    // May run on pool threads: only reads the sheet
+    private double compute(long address) {
+        return formulas.get(address).evaluate(resolver);
+    }
+
+    private void publish(long address, double value, String error) {
+        cells.setResult(address, value, error);
+        reindex(address);
+    }
+
+    // Make sure tall ranges have column indexes covering them; runs before recalculation
+    // so evaluation (possibly on pool threads) only ever reads the indexes
+    private void indexColumns(Formula.Range range) {
+        if (range.lastRow() - range.firstRow() + 1 < INDEXED_RANGE_ROWS) {
+            return;
+        }
+        for (int c = range.firstColumn(); c <= range.lastColumn(); c++) {
+            indexUsers.merge(c, 1, Integer::sum);
+            ColumnIndex index = indexes.computeIfAbsent(c, k -> {
+                ColumnIndex created = new ColumnIndex();
+                if (bulkLoading) {
+                    created.beginBulk();
+                }
+                return created;
+            });
+            int loaded = index.grow(range.lastRow() + 1);
+            if (loaded == index.capacity()) {
+                continue;
+            }
+            // Capacity at least doubled: loading the new rows in bulk is one O(n) rebuild
+            if (!bulkLoading) {
+                index.beginBulk();
+            }
+            for (int row = loaded; row < index.capacity(); row++) {
+                long address = CellAddress.pack(row, c);
+                if (cells.kind(address) != CellStore.EMPTY) {
+                    reindex(address);
+                }
+            }
+            if (!bulkLoading) {
+                index.endBulk();
+            }
+        }
+    }
+
+    // A formula no longer reads the range: drop indexes nothing else needs, and their upkeep
+    private void releaseColumns(Formula.Range range) {
+        if (range.lastRow() - range.firstRow() + 1 < INDEXED_RANGE_ROWS) {
+            return;
+        }
+        for (int c = range.firstColumn(); c <= range.lastColumn(); c++) {
+            if (indexUsers.computeIfPresent(c, (k, users) -> users == 1 ? null : users - 1) == null) {
+                indexes.remove(c);
+            }
+        }
+    }
+
+    // Push the cell's current value into its column index, if the column has one
+    private void reindex(long address) {
+        ColumnIndex index = indexes.get(CellAddress.columnOf(address));
+        int row = CellAddress.rowOf(address);
+        if (index == null || row >= index.capacity()) {
+            return;
+        }
+        if (!inRange(address)) {
+            index.setEmpty(row);
+            return;
+        }
+        try {
+            index.setNumber(row, numericValue(address));
+        } catch (FormulaException e) {
+            index.setError(row);
+        }
+    }
+
+    private void aggregate(Formula.Range range, Formula.Aggregate into) {
+        int first = range.firstRow();
+        int last = range.lastRow();
+        boolean tall = last - first + 1 >= INDEXED_RANGE_ROWS;
+        for (int c = range.firstColumn(); c <= range.lastColumn(); c++) {
+            ColumnIndex index = tall ? indexes.get(c) : null;
+            if (index != null && last < index.capacity() && index.errors(first, last) == 0) {
+                into.addAll(index.sum(first, last), index.min(first, last), index.max(first, last),
+                        index.count(first, last));
+                continue;
+            }
+            // Small range, or one holding an error: scan so the right error propagates
+            for (int r = first; r <= last; r++) {
+                long address = CellAddress.pack(r, c);
+                if (inRange(address)) {
+                    into.add(numericValue(address));
+                }
+            }
+        }
+    }
+
+    // Whether a range aggregate counts the cell: as in Excel, empty cells and text
+    // that is not a number are skipped, while a direct reference to text is #VALUE!
+    private boolean inRange(long address) {
+        switch (cells.kind(address)) {
+            case CellStore.EMPTY:
+                return false;
+            case CellStore.TEXT:
+                try {
+                    Double.parseDouble(cells.text(address).trim());
+                    return true;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            default:
+                return true;
+        }
+    }
+
+    // Value a formula sees: empty cells are 0, errors propagate
+    private double numericValue(long address) {
+        switch (cells.kind(address)) {
+            case CellStore.EMPTY:
+                return 0;
+            case CellStore.NUMBER:
+                return cells.number(address);
+            case CellStore.FORMULA: {
+                String error = cells.error(address);
+                if (error != null) {
+                    throw new FormulaException(error);
+                }
+                return cells.number(address);
+            }
+            default: {
+                String raw = cells.text(address).trim();
+                try {
+                    return raw.isEmpty() ? 0 : Double.parseDouble(raw);
+                } catch (NumberFormatException e) {
+                    throw new FormulaException("#VALUE!");
+                }
+            }
+        }
+    }
+
+    // Stored as a double only if getCell would print it back unchanged, e.g. "100" but not "100.0"
+    static boolean isCanonicalNumber(String value) {
+        char first = value.charAt(0);
+        if (first != '-' && (first < '0' || first > '9')) {
+            return false;
+        }
+        if (isPlainInteger(value)) {
+            return true;
+        }
+        try {
+            return format(Double.parseDouble(value)).equals(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // "0", "42", "-7" but not "007", "-0" or more than 15 digits; no parsing or allocation
+    private static boolean isPlainInteger(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        int digits = value.length() - start;
+        if (digits < 1 || digits > 15 || (value.charAt(start) == '0' && (digits > 1 || start == 1))) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 300.0 -> "300", 2.5 -> "2.5"
+    static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
     }
 
-    // Get value of cell
     public static void main(String[] args) {
         ExcelSheet excel = new ExcelSheet();
         excel.setCell("A1", "100");
         excel.setCell("B1", "200");
         System.out.println("A1: " + excel.getCell("A1")); // 100
         System.out.println("B1: " + excel.getCell("B1")); // 200
+
+        excel.setCell("C1", "=A1+B1*2");
+        excel.setCell("D1", "=SUM(A1:C1)");
+        System.out.println("C1 " + excel.getFormula("C1") + ": " + excel.getCell("C1")); // 500
+        System.out.println("D1 " + excel.getFormula("D1") + ": " + excel.getCell("D1")); // 800
+
+        // Only C1 and D1 are recomputed
+        excel.setCell("A1", "1");
+        System.out.println("After A1=1 -> C1: " + excel.getCell("C1") + ", D1: " + excel.getCell("D1")); // 401, 602
+
+        excel.setCell("E1", "=A1/0");
+        System.out.println("E1: " + excel.getCell("E1")); // #DIV/0!
+
+        excel.setCell("A1", "=D1");
+        System.out.println("A1=D1 -> A1: " + excel.getCell("A1") + ", D1: " + excel.getCell("D1")); // #CYCLE!
+        excel.setCell("A1", "5");
+        System.out.println("Cycle broken -> D1: " + excel.getCell("D1")); // 610
+
+        // 1M numeric cells: 9 bytes each in column chunks, no per-cell objects
+        ExcelSheet big = new ExcelSheet();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        for (int row = 1; row <= 1_000_000; row++) {
+            big.setCell("A" + row, Integer.toString(row % 1000));
+        }
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.println("1M cells: " + big.size() + " cells, ~" + (after - before) / (1024 * 1024) + " MB heap");
+
+        // Range aggregates come from the column index: each update is O(log n), not a rescan
+        big.setCell("B1", "=SUM(A1:A1000000)");
+        big.setCell("B2", "=MAX(A1:A1000000)-MIN(A1:A1000000)");
+        big.setCell("B3", "=COUNT(A1:A1000000)");
+        long start = System.nanoTime();
+        for (int i = 1; i <= 10_000; i++) {
+            big.setCell("A" + i, "1");
+        }
+        System.out.println("10k updates under SUM/MAX/MIN/COUNT of 1M rows: "
+                + (System.nanoTime() - start) / 1_000_000 + " ms, B1: " + big.getCell("B1")
+                + ", B2: " + big.getCell("B2") + ", B3: " + big.getCell("B3"));
+
+        // A subscriber without demand gets later cycles coalesced into one batch
+        ExcelSheet watched = new ExcelSheet();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        watched.changes("A1:B3", Runnable::run).subscribe(new Flow.Subscriber<>() {
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+                s.request(1);
+            }
+
+            public void onNext(CellChanges changes) {
+                System.out.println("Cycle " + changes.cycle() + " changed " + changes.values());
+            }
+
+            public void onError(Throwable throwable) {
+            }
+
+            public void onComplete() {
+            }
+        });
+        watched.setCell("B1", "=A1+A2"); // Cycle 1 changed {B1=0}
+        watched.setCell("A1", "10");
+        watched.setCell("A2", "20");
+        subscription[0].request(1); // Cycle 3 changed {A1=10, B1=30, A2=20}
+
+        // Bulk writes: one recalculation for 100k values instead of 100k
+        Map<String, String> bulk = new HashMap<>();
+        for (int row = 1; row <= 100_000; row++) {
+            bulk.put("A" + row, Integer.toString(row));
+        }
+        ExcelSheet oneByOne = new ExcelSheet();
+        oneByOne.setCell("B1", "=SUM(A1:A100000)");
+        long started = System.nanoTime();
+        bulk.forEach(oneByOne::setCell);
+        long oneByOneMillis = (System.nanoTime() - started) / 1_000_000;
+        ExcelSheet batched = new ExcelSheet();
+        batched.setCell("B1", "=SUM(A1:A100000)");
+        started = System.nanoTime();
+        batched.setCells(bulk);
+        System.out.println("100k writes: setCell " + oneByOneMillis + " ms, setCells "
+                + (System.nanoTime() - started) / 1_000_000 + " ms, B1: " + batched.getCell("B1"));
+        batched.beginBatch();
+        batched.setCell("A1", "0");
+        batched.setCell("A2", "0");
+        System.out.println("In batch B1: " + batched.getCell("B1")); // 5000050000, not yet recalculated
+        batched.commit();
+        System.out.println("After commit B1: " + batched.getCell("B1")); // 5000049997
+        batched.beginBatch();
+        batched.setCell("A3", "1000000");
+        batched.rollback();
+        System.out.println("After rollback A3: " + batched.getCell("A3") + ", B1: " + batched.getCell("B1")); // 3, 5000049997
+
+        // Wide sheet: 20k independent formulas over A1:A100, all on one level
+        System.out.println("Wide recalculation, sequential: " + wideRecalculationMillis(RecalculationScheduler.sequential())
+                + " ms, fork/join: " + wideRecalculationMillis(new RecalculationScheduler()) + " ms");
     }
-}
 
+    private static long wideRecalculationMillis(RecalculationScheduler scheduler) {
+        ExcelSheet wide = new ExcelSheet(new ColumnarCellStore(), scheduler);
+        for (int row = 1; row <= 100; row++) {
+            wide.setCell("A" + row, Integer.toString(row));
+        }
+        for (int row = 1; row <= 20_000; row++) {
+            wide.setCell("B" + row, "=SUM(A1:A100)*" + row + "+AVERAGE(A1:A100)");
+        }
+        long start = System.nanoTime();
+        wide.setCell("A1", "2");
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
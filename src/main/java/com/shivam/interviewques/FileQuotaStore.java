@@ -0,0 +1,79 @@
+package com.shivam.interviewques;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link QuotaStore} backed by one small file per limiter in a shared directory.
+ * Each lease is a read-modify-write of (window id, used) under an exclusive
+ * file lock, so separate JVMs on the same host share the quota. Use one
+ * instance per JVM: file locks are held per process, not per thread.
+ * Limiter names are percent-encoded into file names, so a name can never
+ * reach outside the directory.
+ */
+public class FileQuotaStore implements QuotaStore {
+
+    // Encoded name plus ".quota" stays under the usual 255-byte file name limit
+    private static final int MAX_FILE_NAME = 240;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final Path directory;
+
+    public FileQuotaStore(Path directory) {
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized int lease(String name, long windowId, int limit, int requested) {
+        Path file = directory.resolve(fileName(name));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+            int used = 0;
+            if (channel.read(buffer, 0) == buffer.capacity() && buffer.getLong(0) == windowId) {
+                used = buffer.getInt(Long.BYTES);
+            }
+            int granted = Math.max(0, Math.min(requested, limit - used));
+            buffer.clear();
+            buffer.putLong(windowId).putInt(used + granted).flip();
+            channel.write(buffer, 0);
+            return granted;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Letters, digits, '-', '_' and '.' as is, any other byte as %XX; "." and ".." get a suffix anyway
+    static String fileName(String name) {
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Limiter name must not be empty");
+        }
+        StringBuilder file = new StringBuilder(name.length() + 6);
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.') {
+                file.append(c);
+            } else {
+                file.append('%').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        file.append(".quota");
+        if (file.length() > MAX_FILE_NAME) {
+            throw new IllegalArgumentException("Limiter name too long: " + name);
+        }
+        return file.toString();
+    }
+}
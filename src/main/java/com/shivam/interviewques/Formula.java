@@ -0,0 +1,181 @@
+package com.shivam.interviewques;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Parsed formula (the part after "=") as a small expression tree.
+ */
+public interface Formula {
+
+    /**
+     * Numeric value of a referenced cell, given as a packed {@link CellAddress};
+     * throws {@link FormulaException} for errors.
+     */
+    interface Resolver {
+        double valueOf(long address);
+
+        /**
+         * Add the non-empty cells of {@code range} to {@code into}; throws
+         * {@link FormulaException} if one of them holds an error.
+         */
+        void aggregate(Range range, Aggregate into);
+    }
+
+    /**
+     * Running SUM/MIN/MAX/COUNT of function arguments.
+     */
+    final class Aggregate {
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long count;
+
+        public void add(double value) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            count++;
+        }
+
+        /**
+         * Merge a pre-computed partial result, e.g. from an index.
+         */
+        public void addAll(double sum, double min, double max, long count) {
+            this.sum += sum;
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+            this.count += count;
+        }
+    }
+
+    double evaluate(Resolver cells);
+
+    /**
+     * Report the packed address of every single-cell reference; ranges go to {@link #forEachRange}.
+     */
+    void forEachReference(LongConsumer action);
+
+    /**
+     * Report every range argument, e.g. so the sheet can index its columns.
+     */
+    default void forEachRange(Consumer<Range> action) {
+    }
+
+    record Number(double value) implements Formula {
+        public double evaluate(Resolver cells) {
+            return value;
+        }
+
+        public void forEachReference(LongConsumer action) {
+        }
+    }
+
+    record CellRef(long address) implements Formula {
+        public double evaluate(Resolver cells) {
+            return cells.valueOf(address);
+        }
+
+        public void forEachReference(LongConsumer action) {
+            action.accept(address);
+        }
+    }
+
+    record Negate(Formula operand) implements Formula {
+        public double evaluate(Resolver cells) {
+            return -operand.evaluate(cells);
+        }
+
+        public void forEachReference(LongConsumer action) {
+            operand.forEachReference(action);
+        }
+
+        public void forEachRange(Consumer<Range> action) {
+            operand.forEachRange(action);
+        }
+    }
+
+    record Binary(char operator, Formula left, Formula right) implements Formula {
+        public double evaluate(Resolver cells) {
+            double a = left.evaluate(cells);
+            double b = right.evaluate(cells);
+            switch (operator) {
+                case '+': return a + b;
+                case '-': return a - b;
+                case '*': return a * b;
+                default:
+                    if (b == 0) {
+                        throw new FormulaException("#DIV/0!");
+                    }
+                    return a / b;
+            }
+        }
+
+        public void forEachReference(LongConsumer action) {
+            left.forEachReference(action);
+            right.forEachReference(action);
+        }
+
+        public void forEachRange(Consumer<Range> action) {
+            left.forEachRange(action);
+            right.forEachRange(action);
+        }
+    }
+
+    /**
+     * Rectangular range like A1:B10; only valid as a function argument.
+     */
+    record Range(int firstRow, int firstColumn, int lastRow, int lastColumn) implements Formula {
+        public double evaluate(Resolver cells) {
+            throw new FormulaException("#VALUE!");
+        }
+
+        public void forEachReference(LongConsumer action) {
+        }
+
+        public void forEachRange(Consumer<Range> action) {
+            action.accept(this);
+        }
+    }
+
+    /**
+     * SUM, MIN, MAX, COUNT or AVERAGE over cells, ranges and expressions.
+     * Empty cells and text inside ranges are skipped, as in Excel.
+     */
+    record Function(String name, List<Formula> arguments) implements Formula {
+        public double evaluate(Resolver cells) {
+            Aggregate total = new Aggregate();
+            for (Formula argument : arguments) {
+                if (argument instanceof Range range) {
+                    cells.aggregate(range, total);
+                } else {
+                    total.add(argument.evaluate(cells));
+                }
+            }
+            switch (name) {
+                case "SUM": return total.sum;
+                case "MIN": return total.count == 0 ? 0 : total.min;
+                case "MAX": return total.count == 0 ? 0 : total.max;
+                case "COUNT": return total.count;
+                default:
+                    if (total.count == 0) {
+                        throw new FormulaException("#DIV/0!");
+                    }
+                    return total.sum / total.count;
+            }
+        }
+
+        public void forEachReference(LongConsumer action) {
+            for (Formula argument : arguments) {
+                argument.forEachReference(action);
+            }
+        }
+
+        public void forEachRange(Consumer<Range> action) {
+            for (Formula argument : arguments) {
+                argument.forEachRange(action);
+            }
+        }
+    }
+}
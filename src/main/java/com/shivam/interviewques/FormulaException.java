@@ -0,0 +1,14 @@
+package com.shivam.interviewques;
+
+/**
+ * Formula that cannot be parsed or evaluated; the message is the error shown
+ * in the cell, e.g. "#DIV/0!" or "#CYCLE!".
+ */
+public class FormulaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FormulaException(String error) {
+        super(error);
+    }
+}
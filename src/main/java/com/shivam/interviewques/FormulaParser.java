@@ -0,0 +1,166 @@
+package com.shivam.interviewques;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recursive descent parser for cell formulas.
+ * <pre>
+ * expr   := term (('+' | '-') term)*
+ * term   := factor (('*' | '/') factor)*
+ * factor := number | cell | NAME '(' args ')' | '(' expr ')' | '-' factor
+ * args   := (cell ':' cell | expr) (',' ...)*
+ * </pre>
+ */
+public class FormulaParser {
+
+    static final Set<String> FUNCTIONS = Set.of("SUM", "MIN", "MAX", "COUNT", "AVERAGE");
+
+    private final String text;
+    private int pos;
+
+    private FormulaParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse a formula without its leading "=", e.g. "A1+B1*2" or "SUM(A1:A1000)".
+     *
+     * @throws FormulaException with "#ERROR!" if the text is not a valid formula
+     */
+    public static Formula parse(String formula) {
+        FormulaParser parser = new FormulaParser(formula.toUpperCase());
+        Formula result = parser.expr();
+        parser.skipSpaces();
+        if (parser.pos != parser.text.length()) {
+            throw parser.error();
+        }
+        return result;
+    }
+
+    private Formula expr() {
+        Formula left = term();
+        while (peek() == '+' || peek() == '-') {
+            char op = text.charAt(pos++);
+            left = new Formula.Binary(op, left, term());
+        }
+        return left;
+    }
+
+    private Formula term() {
+        Formula left = factor();
+        while (peek() == '*' || peek() == '/') {
+            char op = text.charAt(pos++);
+            left = new Formula.Binary(op, left, factor());
+        }
+        return left;
+    }
+
+    private Formula factor() {
+        char c = peek();
+        if (c == '-') {
+            pos++;
+            return new Formula.Negate(factor());
+        }
+        if (c == '(') {
+            pos++;
+            Formula inner = expr();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return number();
+        }
+        if (Character.isLetter(c)) {
+            String word = word();
+            if (peek() == '(') {
+                return function(word);
+            }
+            if (!CellAddress.isValid(word)) {
+                throw error();
+            }
+            return new Formula.CellRef(CellAddress.parse(word));
+        }
+        throw error();
+    }
+
+    private Formula function(String name) {
+        if (!FUNCTIONS.contains(name)) {
+            throw error();
+        }
+        expect('(');
+        List<Formula> arguments = new ArrayList<>();
+        if (peek() != ')') {
+            do {
+                arguments.add(argument());
+            } while (consume(','));
+        }
+        expect(')');
+        return new Formula.Function(name, arguments);
+    }
+
+    private Formula argument() {
+        Formula first = expr();
+        if (!consume(':')) {
+            return first;
+        }
+        if (!(first instanceof Formula.CellRef from) || !(factor() instanceof Formula.CellRef to)) {
+            throw error();
+        }
+        int r1 = CellAddress.rowOf(from.address());
+        int c1 = CellAddress.columnOf(from.address());
+        int r2 = CellAddress.rowOf(to.address());
+        int c2 = CellAddress.columnOf(to.address());
+        return new Formula.Range(Math.min(r1, r2), Math.min(c1, c2), Math.max(r1, r2), Math.max(c1, c2));
+    }
+
+    private Formula number() {
+        int start = pos;
+        while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+            pos++;
+        }
+        try {
+            return new Formula.Number(Double.parseDouble(text.substring(start, pos)));
+        } catch (NumberFormatException e) {
+            throw error();
+        }
+    }
+
+    private String word() {
+        int start = pos;
+        while (pos < text.length() && Character.isLetterOrDigit(text.charAt(pos))) {
+            pos++;
+        }
+        return text.substring(start, pos);
+    }
+
+    private char peek() {
+        skipSpaces();
+        return pos < text.length() ? text.charAt(pos) : '\0';
+    }
+
+    private boolean consume(char expected) {
+        if (peek() == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw error();
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && text.charAt(pos) == ' ') {
+            pos++;
+        }
+    }
+
+    private FormulaException error() {
+        return new FormulaException("#ERROR!");
+    }
+}
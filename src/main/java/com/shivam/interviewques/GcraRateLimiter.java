@@ -0,0 +1,120 @@
+package com.shivam.interviewques;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generic cell rate algorithm (GCRA).
+ * The only state is the theoretical arrival time (TAT) of the next request.
+ * Each permit pushes the TAT forward by one emission interval, and a request
+ * is allowed while the TAT stays within one window of now. One CAS per call.
+ */
+public class GcraRateLimiter implements RateLimiter {
+
+    // emissionInterval = window / maxRequests; tolerance = the whole window, so maxRequests may burst
+    private record Params(long emissionInterval, long tolerance) {
+        static Params of(RateLimiterConfig config) {
+            long emissionInterval = config.window().toNanos() / config.maxRequests();
+            return new Params(emissionInterval, emissionInterval * config.maxRequests());
+        }
+    }
+
+    private final NanoClock clock;
+    private volatile Params params;
+
+    private final AtomicLong tat;
+
+    public GcraRateLimiter(RateLimiterConfig config) {
+        this(config, NanoClock.system());
+    }
+
+    public GcraRateLimiter(RateLimiterConfig config, NanoClock clock) {
+        this.clock = clock;
+        this.params = Params.of(config);
+        this.tat = new AtomicLong(clock.nanoTime());
+    }
+
+    @Override
+    public boolean tryConsume(int permits) {
+        RateLimiter.checkPermits(permits);
+        Params p = params;
+        long now = clock.nanoTime();
+        long increment = permits * p.emissionInterval();
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + increment;
+            if (next - now > p.tolerance()) {
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int tryConsumeUpTo(int max) {
+        RateLimiter.checkPermits(max);
+        Params p = params;
+        long now = clock.nanoTime();
+        while (true) {
+            long current = tat.get();
+            long start = Math.max(current, now);
+            long free = (now + p.tolerance() - start) / p.emissionInterval();
+            if (free <= 0) {
+                return 0;
+            }
+            int granted = (int) Math.min(free, max);
+            if (tat.compareAndSet(current, start + granted * p.emissionInterval())) {
+                return granted;
+            }
+        }
+    }
+
+    @Override
+    public void refund(int permits) {
+        RateLimiter.checkPermits(permits);
+        Params p = params;
+        long decrement = permits * p.emissionInterval();
+        while (true) {
+            long now = clock.nanoTime();
+            long current = tat.get();
+            if (current <= now || tat.compareAndSet(current, Math.max(now, current - decrement))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long nanosUntilAvailable() {
+        Params p = params;
+        long now = clock.nanoTime();
+        return Math.max(0, Math.max(tat.get(), now) + p.emissionInterval() - now - p.tolerance());
+    }
+
+    @Override
+    public long occupancy() {
+        Params p = params;
+        long backlog = Math.max(0, tat.get() - clock.nanoTime());
+        return (backlog + p.emissionInterval() - 1) / p.emissionInterval();
+    }
+
+    /**
+     * Swap in new limits. The outstanding backlog (TAT - now) is kept as a number
+     * of permits and rescaled to the new emission interval.
+     */
+    @Override
+    public synchronized void reconfigure(RateLimiterConfig config) {
+        Params old = params;
+        Params next = Params.of(config);
+        params = next;
+        while (true) {
+            long now = clock.nanoTime();
+            long current = tat.get();
+            long backlog = Math.max(0, current - now);
+            long rescaled = now + backlog / old.emissionInterval() * next.emissionInterval();
+            if (tat.compareAndSet(current, rescaled)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.shivam.interviewques;
+
+/**
+ * Checks a chain of limits in one decision: global, then tenant, then endpoint.
+ * Each level is tried in order; if a lower level rejects, the permits already
+ * taken from the levels above are refunded, so a rejected request never uses
+ * up quota. With lock-free engines (counter, GCRA) no level takes a lock.
+ */
+public class HierarchicalRateLimiter {
+
+    private final RateLimiter global;
+    private final KeyedRateLimiter tenants;
+    private final KeyedRateLimiter endpoints;
+
+    public HierarchicalRateLimiter(RateLimiter global, KeyedRateLimiter tenants, KeyedRateLimiter endpoints) {
+        this.global = global;
+        this.tenants = tenants;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Attempt to consume a request slot at every level.
+     *
+     * @return true if all levels allow the request, false if any rate limit is exceeded
+     */
+    public boolean tryConsume(String tenant, String endpoint) {
+        return tryConsume(tenant, endpoint, 1);
+    }
+
+    /**
+     * Attempt to consume {@code permits} slots at every level; all or nothing.
+     */
+    public boolean tryConsume(String tenant, String endpoint, int permits) {
+        if (!global.tryConsume(permits)) {
+            return false;
+        }
+        if (!tenants.tryConsume(tenant, permits)) {
+            global.refund(permits);
+            return false;
+        }
+        if (!endpoints.tryConsume(endpoint, permits)) {
+            tenants.refund(tenant, permits);
+            global.refund(permits);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package com.shivam.interviewques;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link QuotaStore} shared by limiters in the same JVM, e.g. to simulate
+ * several nodes in a local test.
+ */
+public class InMemoryQuotaStore implements QuotaStore {
+
+    private record Window(long id, int used) { }
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public int lease(String name, long windowId, int limit, int requested) {
+        int[] granted = new int[1];
+        windows.compute(name, (k, w) -> {
+            int used = w != null && w.id() == windowId ? w.used() : 0;
+            granted[0] = Math.max(0, Math.min(requested, limit - used));
+            return new Window(windowId, used + granted[0]);
+        });
+        return granted[0];
+    }
+}
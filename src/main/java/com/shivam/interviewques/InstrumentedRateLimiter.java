@@ -0,0 +1,55 @@
+package com.shivam.interviewques;
+
+/**
+ * Decorator that records every decision of the wrapped limiter in {@link RateLimiterMetrics}.
+ */
+public class InstrumentedRateLimiter implements RateLimiter {
+
+    private final RateLimiter delegate;
+    private final RateLimiterMetrics metrics;
+
+    public InstrumentedRateLimiter(RateLimiter delegate) {
+        this.delegate = delegate;
+        this.metrics = new RateLimiterMetrics(delegate);
+    }
+
+    public RateLimiterMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean tryConsume(int permits) {
+        long start = System.nanoTime();
+        boolean allowed = delegate.tryConsume(permits);
+        metrics.record(allowed, System.nanoTime() - start);
+        return allowed;
+    }
+
+    @Override
+    public int tryConsumeUpTo(int max) {
+        long start = System.nanoTime();
+        int granted = delegate.tryConsumeUpTo(max);
+        metrics.record(granted > 0, System.nanoTime() - start);
+        return granted;
+    }
+
+    @Override
+    public void refund(int permits) {
+        delegate.refund(permits);
+    }
+
+    @Override
+    public long nanosUntilAvailable() {
+        return delegate.nanosUntilAvailable();
+    }
+
+    @Override
+    public long occupancy() {
+        return delegate.occupancy();
+    }
+
+    @Override
+    public void reconfigure(RateLimiterConfig config) {
+        delegate.reconfigure(config);
+    }
+}
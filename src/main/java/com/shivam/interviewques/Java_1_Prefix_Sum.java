@@ -5,30 +5,262 @@ package com.shivam.interviewques;
 //Given an array of integers nums, find the sum of elements between indices i and j (inclusive), where i≤j. Implement a class NumArray that can handle multiple such queries efficiently.
 
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 class NumArray {
-    int[] preFixSum;
+    // Below this the sequential loop takes well under a millisecond and forking costs more than it saves
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    // Smallest chunk worth a task of its own
+    private static final int MIN_CHUNK = 1 << 16;
+
+    // long, so sums of many ints do not overflow
+    long[] preFixSum;
 
     NumArray(int[] nums) {
-        preFixSum = new int[nums.length + 1];
+        this(nums, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Large inputs are scanned in parallel on {@code pool} with a blocked two-pass scan:
+     * chunk sums, then exclusive offsets per chunk, then each chunk scans from its offset.
+     * Small inputs, or a pool with one worker, use the plain loop.
+     */
+    NumArray(int[] nums, ForkJoinPool pool) {
+        preFixSum = new long[nums.length + 1];
         preFixSum[0] = 0;
 
-        for (int i = 0; i < nums.length; i++) {
-            preFixSum[i + 1] = preFixSum[i] + nums[i];
+        int parallelism = pool.getParallelism();
+        if (nums.length < PARALLEL_THRESHOLD || parallelism < 2) {
+            for (int i = 0; i < nums.length; i++) {
+                preFixSum[i + 1] = preFixSum[i] + nums[i];
+            }
+            return;
         }
+
+        // A few chunks per worker, so stealing evens out uneven progress
+        int chunks = Math.min(parallelism * 4, nums.length / MIN_CHUNK);
+        long[] sums = new long[chunks];
+        pool.invoke(new ScanTask(nums, preFixSum, sums, null, 0, chunks));
+        long[] offsets = new long[chunks];
+        for (int c = 1; c < chunks; c++) {
+            offsets[c] = offsets[c - 1] + sums[c - 1];
+        }
+        pool.invoke(new ScanTask(nums, preFixSum, sums, offsets, 0, chunks));
     }
 
-    public int sumRange(int i, int j) {
+    public long sumRange(int i, int j) {
         return preFixSum[j + 1] - preFixSum[i];
     }
 
+    // One pass over chunks [from, to): their sums when offsets is null, else their prefix sums
+    @SuppressWarnings("serial") // never serialized
+    private static final class ScanTask extends RecursiveAction {
+        private final int[] nums;
+        private final long[] preFixSum;
+        private final long[] sums;
+        private final long[] offsets;
+        private final int from;
+        private final int to;
+
+        ScanTask(int[] nums, long[] preFixSum, long[] sums, long[] offsets, int from, int to) {
+            this.nums = nums;
+            this.preFixSum = preFixSum;
+            this.sums = sums;
+            this.offsets = offsets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScanTask(nums, preFixSum, sums, offsets, from, mid),
+                        new ScanTask(nums, preFixSum, sums, offsets, mid, to));
+                return;
+            }
+            int chunks = sums.length;
+            int start = (int) ((long) nums.length * from / chunks);
+            int end = (int) ((long) nums.length * to / chunks);
+            if (offsets == null) {
+                long sum = 0;
+                for (int i = start; i < end; i++) {
+                    sum += nums[i];
+                }
+                sums[from] = sum;
+            } else {
+                long sum = offsets[from];
+                for (int i = start; i < end; i++) {
+                    sum += nums[i];
+                    preFixSum[i + 1] = sum;
+                }
+            }
+        }
+    }
+
+}
+
+/**
+ * NumArray that also supports {@code update(i, val)}; both operations are O(log n).
+ * <p>
+ * FENWICK: one long[n + 1], the smaller and usually faster choice.
+ * SEGMENT_TREE: bottom-up tree in one long[2n], leaves at [n, 2n).
+ * Neither keeps a copy of the input; the current value of a slot is read back from the tree.
+ */
+class MutableNumArray {
+
+    enum Backend { FENWICK, SEGMENT_TREE }
+
+    private final Backend backend;
+    private final int n;
+    private final long[] tree;
+
+    MutableNumArray(int[] nums, Backend backend) {
+        this.backend = backend;
+        this.n = nums.length;
+        if (backend == Backend.FENWICK) {
+            // O(n) build: each node pushes its total to its parent once
+            tree = new long[n + 1];
+            for (int k = 1; k <= n; k++) {
+                tree[k] += nums[k - 1];
+                int parent = k + (k & -k);
+                if (parent <= n) {
+                    tree[parent] += tree[k];
+                }
+            }
+        } else {
+            tree = new long[2 * n];
+            for (int i = 0; i < n; i++) {
+                tree[n + i] = nums[i];
+            }
+            for (int p = n - 1; p >= 1; p--) {
+                tree[p] = tree[2 * p] + tree[2 * p + 1];
+            }
+        }
+    }
+
+    static MutableNumArray fenwick(int[] nums) {
+        return new MutableNumArray(nums, Backend.FENWICK);
+    }
+
+    static MutableNumArray segmentTree(int[] nums) {
+        return new MutableNumArray(nums, Backend.SEGMENT_TREE);
+    }
+
+    public void update(int i, int val) {
+        Objects.checkIndex(i, n);
+        if (backend == Backend.FENWICK) {
+            long delta = (long) val - get(i);
+            for (int k = i + 1; k <= n; k += k & -k) {
+                tree[k] += delta;
+            }
+        } else {
+            int p = i + n;
+            tree[p] = val;
+            for (p >>= 1; p >= 1; p >>= 1) {
+                tree[p] = tree[2 * p] + tree[2 * p + 1];
+            }
+        }
+    }
+
+    public long sumRange(int i, int j) {
+        Objects.checkFromToIndex(i, j + 1, n);
+        if (backend == Backend.FENWICK) {
+            return prefix(j + 1) - prefix(i);
+        }
+        long sum = 0;
+        for (int lo = i + n, hi = j + n + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                sum += tree[lo++];
+            }
+            if ((hi & 1) == 1) {
+                sum += tree[--hi];
+            }
+        }
+        return sum;
+    }
+
+    public int get(int i) {
+        Objects.checkIndex(i, n);
+        if (backend == Backend.SEGMENT_TREE) {
+            return (int) tree[i + n];
+        }
+        // tree[k] covers (k - lowbit(k), k]; subtract the nodes covering (k - lowbit(k), k - 1]
+        int k = i + 1;
+        long value = tree[k];
+        int stop = k - (k & -k);
+        for (int j = k - 1; j > stop; j -= j & -j) {
+            value -= tree[j];
+        }
+        return (int) value;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // Sum of the first count elements
+    private long prefix(int count) {
+        long sum = 0;
+        for (int k = count; k > 0; k -= k & -k) {
+            sum += tree[k];
+        }
+        return sum;
+    }
 }
 
 public class Java_1_Prefix_Sum {
     public static void main(String[] args) {
         int[] arr = {1, 2, 3, 4, 5};
         NumArray numArray = new NumArray(arr);
-        int sum = numArray.sumRange(0, 2);
+        long sum = numArray.sumRange(0, 2);
         System.out.println("Sum of 0,2 for " + Arrays.toString(arr) + " sum : " + sum);
+
+        int[] big = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        System.out.println("No int overflow: " + new NumArray(big).sumRange(0, 2)); // 6442450941
+
+        // Parallel build: same result as the sequential loop
+        int[] large = new int[20_000_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i % 1000 - 500;
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        long started = System.nanoTime();
+        NumArray sequential = new NumArray(large, single);
+        long sequentialMillis = (System.nanoTime() - started) / 1_000_000;
+        started = System.nanoTime();
+        NumArray parallel = new NumArray(large, pool);
+        long parallelMillis = (System.nanoTime() - started) / 1_000_000;
+        System.out.println("20M prefix sums: sequential " + sequentialMillis + " ms, " + pool.getParallelism()
+                + " workers " + parallelMillis + " ms, equal: " + Arrays.equals(sequential.preFixSum, parallel.preFixSum));
+        single.shutdown();
+        pool.shutdown();
+
+        for (MutableNumArray.Backend backend : MutableNumArray.Backend.values()) {
+            MutableNumArray mutable = new MutableNumArray(arr, backend);
+            mutable.update(1, 10);
+            System.out.println(backend + " after update(1, 10), sum of 0,2 : " + mutable.sumRange(0, 2)); // 14
+        }
+
+        // Throughput on 10M elements: 1M updates interleaved with 1M queries
+        int[] ones = new int[10_000_000];
+        Arrays.fill(ones, 1);
+        for (MutableNumArray.Backend backend : MutableNumArray.Backend.values()) {
+            MutableNumArray mutable = new MutableNumArray(ones, backend);
+            Random ops = new Random(7);
+            started = System.nanoTime();
+            long checksum = 0;
+            for (int op = 0; op < 1_000_000; op++) {
+                int i = ops.nextInt(ones.length);
+                mutable.update(i, op);
+                checksum += mutable.sumRange(i / 2, i);
+            }
+            System.out.println(backend + ": 2M operations in " + (System.nanoTime() - started) / 1_000_000
+                    + " ms (checksum " + checksum + ")"); // same checksum for both
+        }
     }
-}
\ No newline at end of file
+}
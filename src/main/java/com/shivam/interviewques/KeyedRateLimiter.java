@@ -0,0 +1,197 @@
+package com.shivam.interviewques;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-key (API key, client IP, ...) sliding window rate limiter.
+ * Each key only holds a small {@link SlidingWindowCounter} ring, and keys that
+ * stay idle for {@code idleTimeout} are evicted by a daemon sweeper, so the
+ * heap stays bounded by the number of active keys. With {@code maxKeys}, new
+ * keys beyond that many share one overflow counter until idle keys are evicted,
+ * so a flood of distinct keys cannot grow the map without bound.
+ */
+public class KeyedRateLimiter implements AutoCloseable {
+
+    private static final int BUCKETS_PER_KEY = 4;
+
+    private final NanoClock clock;
+    private final int maxRequests;
+    private final long windowNanos;
+    private final long idleNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, SlidingWindowCounter> counters;
+    private final SlidingWindowCounter overflow = newCounter();
+    private final ScheduledExecutorService sweeper;
+    // Counters of a restored snapshot, loaded per key on first use; null when there is none
+    private volatile Function<String, SlidingWindowCounter> restored;
+
+    public KeyedRateLimiter(RateLimiterConfig config, Duration idleTimeout) {
+        this(config, idleTimeout, 16);
+    }
+
+    public KeyedRateLimiter(RateLimiterConfig config, Duration idleTimeout, int expectedKeys) {
+        this(config, idleTimeout, expectedKeys, NanoClock.system());
+    }
+
+    public KeyedRateLimiter(RateLimiterConfig config, Duration idleTimeout, int expectedKeys, NanoClock clock) {
+        this(config, idleTimeout, expectedKeys, Integer.MAX_VALUE, clock);
+    }
+
+    public KeyedRateLimiter(RateLimiterConfig config, Duration idleTimeout, int expectedKeys, int maxKeys,
+                            NanoClock clock) {
+        if (idleTimeout.compareTo(config.window()) < 0) {
+            throw new IllegalArgumentException("idleTimeout must be >= window");
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be >= 1");
+        }
+        this.clock = clock;
+        this.maxRequests = config.maxRequests();
+        this.windowNanos = config.window().toNanos();
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxKeys = maxKeys;
+        this.counters = new ConcurrentHashMap<>(expectedKeys);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "keyed-rate-limiter-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Attempt to consume a request slot for the given key.
+     *
+     * @return true if request is allowed, false if rate limit exceeded
+     */
+    public boolean tryConsume(String key) {
+        return counterFor(key).tryAcquire(clock.nanoTime(), windowNanos, maxRequests);
+    }
+
+    /**
+     * Attempt to consume {@code permits} slots for the given key; all or nothing.
+     */
+    public boolean tryConsume(String key, int permits) {
+        RateLimiter.checkPermits(permits);
+        return counterFor(key).tryAcquire(clock.nanoTime(), windowNanos, maxRequests, permits);
+    }
+
+    /**
+     * Give back {@code permits} the key was granted but did not use.
+     */
+    public void refund(String key, int permits) {
+        RateLimiter.checkPermits(permits);
+        SlidingWindowCounter counter = existingCounter(key);
+        if (counter != null) {
+            counter.release(clock.nanoTime(), windowNanos, permits);
+        }
+    }
+
+    /**
+     * Requests the key may still make in its current window.
+     */
+    public long remaining(String key) {
+        SlidingWindowCounter counter = existingCounter(key);
+        return counter == null ? maxRequests
+                : Math.max(0, maxRequests - counter.occupancy(clock.nanoTime(), windowNanos));
+    }
+
+    /**
+     * Nanoseconds until the key may make one more request, 0 if it may now.
+     */
+    public long nanosUntilAvailable(String key) {
+        SlidingWindowCounter counter = existingCounter(key);
+        return counter == null ? 0 : counter.timeUntilAvailable(clock.nanoTime(), windowNanos, maxRequests);
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    private SlidingWindowCounter counterFor(String key) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            // The cap may be overshot by concurrent first requests, never by more than the callers racing
+            if (counters.mappingCount() >= maxKeys) {
+                return overflow;
+            }
+            counter = counters.computeIfAbsent(key, this::restoredOrNew);
+        }
+        return counter;
+    }
+
+    // Without creating a counter for an unknown key
+    private SlidingWindowCounter existingCounter(String key) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        if (counters.mappingCount() >= maxKeys) {
+            return overflow;
+        }
+        Function<String, SlidingWindowCounter> lookup = restored;
+        if (lookup != null) {
+            SlidingWindowCounter loaded = lookup.apply(key);
+            if (loaded != null) {
+                SlidingWindowCounter raced = counters.putIfAbsent(key, loaded);
+                counter = raced != null ? raced : loaded;
+            }
+        }
+        return counter;
+    }
+
+    private SlidingWindowCounter restoredOrNew(String key) {
+        Function<String, SlidingWindowCounter> lookup = restored;
+        SlidingWindowCounter counter = lookup == null ? null : lookup.apply(key);
+        return counter != null ? counter : newCounter();
+    }
+
+    /**
+     * Drop keys that have not been allowed a request for {@code idleTimeout}.
+     * A key racing with its own eviction may lose that one count, which is
+     * harmless because an idle key has nothing left in its window.
+     */
+    public void evictIdle() {
+        long now = clock.nanoTime();
+        counters.values().removeIf(c -> c.isIdle(now, windowNanos, idleNanos));
+    }
+
+    // Used by RateLimiterSnapshotter
+    ConcurrentHashMap<String, SlidingWindowCounter> counters() {
+        return counters;
+    }
+
+    // A key missing from the map is looked up here before getting a fresh counter
+    void restoreFrom(Function<String, SlidingWindowCounter> lookup) {
+        restored = lookup;
+    }
+
+    long windowNanos() {
+        return windowNanos;
+    }
+
+    NanoClock clock() {
+        return clock;
+    }
+
+    static SlidingWindowCounter newCounter() {
+        return new SlidingWindowCounter(BUCKETS_PER_KEY);
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package com.shivam.interviewques;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock that only moves when told to, so rate limiter demos and tests run
+ * instantly and deterministically instead of sleeping.
+ */
+public final class ManualNanoClock implements NanoClock {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Override
+    public long nanoTime() {
+        return now.get();
+    }
+
+    public void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,458 @@
+package com.shivam.interviewques;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link CellStore} kept in a memory-mapped file, for sheets larger than the heap.
+ * <p>
+ * The file holds a header and pages of {@value #PAGE_ROWS} rows of one column;
+ * each cell is a 16-byte slot: value bits (number or formula result) and a meta
+ * long of kind, error code and offset of its text in the companion ".strings" log.
+ * Pages are mapped in regions of {@value #PAGES_PER_REGION} pages, and only the
+ * most recently used regions are kept (an LRU on the heap); the OS page cache
+ * does the rest. A region dropped from the LRU is forced to disk first, but Java
+ * cannot unmap it: the mapping goes away when the GC collects its buffer, so
+ * mapped address space is bounded by the LRU only up to garbage collection. Values and formula results are on disk, so reopening a file
+ * only reads the page headers, and {@link ExcelSheet} re-parses just the formulas.
+ * <p>
+ * Reads may run on several threads at once, as they do during a parallel
+ * recalculation: the region LRU and the string cache are guarded by their own
+ * monitors and string reads use positional I/O. Writes need a single thread with
+ * no concurrent reads. Overwritten text stays in the log until the file is
+ * rewritten. There are no snapshots: a {@link ConcurrentExcelSheet} needs the
+ * heap {@link ColumnarCellStore}.
+ */
+public class MappedCellStore implements CellStore, AutoCloseable {
+
+    static final int PAGE_ROWS = 4096;
+    static final int PAGES_PER_REGION = 256;
+    private static final int SLOT_BYTES = 16;
+    private static final int PAGE_HEADER_BYTES = 64;
+    private static final int PAGE_BYTES = PAGE_HEADER_BYTES + PAGE_ROWS * SLOT_BYTES;
+    private static final long REGION_BYTES = (long) PAGES_PER_REGION * PAGE_BYTES;
+    private static final int FILE_HEADER_BYTES = 4096;
+    private static final long MAGIC = 0x5348454554310001L;
+
+    // File header offsets
+    private static final int PAGE_COUNT = 8;
+    private static final int ROWS = 12;
+    private static final int COLUMNS = 16;
+    private static final int SIZE = 24;
+    private static final int STRINGS_LENGTH = 32;
+
+    // Page header offsets
+    private static final int PAGE_COLUMN = 0;
+    private static final int PAGE_INDEX = 4;
+    private static final int PAGE_USED = 8;
+    private static final int PAGE_FORMULAS = 12;
+
+    // Formula errors are stored as a one-byte code; 0 means no error
+    private static final String[] ERRORS = {null, "#ERROR!", "#VALUE!", "#DIV/0!", "#CYCLE!"};
+    private static final int STRING_CACHE_SIZE = 4096;
+
+    private final FileChannel channel;
+    private final FileChannel stringChannel;
+    private final MappedByteBuffer header;
+    private final int maxMappedRegions;
+    private final LinkedHashMap<Integer, MappedByteBuffer> regions;
+    private final LinkedHashMap<Long, String> stringCache;
+    // (column, page index) -> page number in the file
+    private final HashMap<Long, Integer> pages = new HashMap<>();
+
+    /**
+     * Open (or create) the store in {@code file}, keeping at most 64 regions mapped.
+     */
+    public MappedCellStore(Path file) throws IOException {
+        this(file, 64);
+    }
+
+    public MappedCellStore(Path file, int maxMappedRegions) throws IOException {
+        if (maxMappedRegions < 1) {
+            throw new IllegalArgumentException("maxMappedRegions must be >= 1");
+        }
+        this.maxMappedRegions = maxMappedRegions;
+        this.regions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, MappedByteBuffer> eldest) {
+                boolean evict = size() > MappedCellStore.this.maxMappedRegions;
+                if (evict) {
+                    // flush() only reaches regions still in the LRU
+                    eldest.getValue().force();
+                }
+                return evict;
+            }
+        };
+        this.stringCache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > STRING_CACHE_SIZE;
+            }
+        };
+
+        boolean created = !Files.exists(file) || Files.size(file) == 0;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.stringChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".strings"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_BYTES);
+        if (created) {
+            header.putLong(0, MAGIC);
+        } else if (header.getLong(0) != MAGIC) {
+            close();
+            throw new IOException("Not a sheet file: " + file);
+        }
+        for (int page = 0; page < header.getInt(PAGE_COUNT); page++) {
+            ByteBuffer region = region(page);
+            int base = pageOffset(page);
+            pages.put(pageKey(region.getInt(base + PAGE_COLUMN), region.getInt(base + PAGE_INDEX)), page);
+        }
+    }
+
+    @Override
+    public byte kind(long address) {
+        int page = page(address, false);
+        return page < 0 ? EMPTY : kindOf(meta(page, address));
+    }
+
+    @Override
+    public double number(long address) {
+        int page = page(address, false);
+        if (page < 0) {
+            return 0;
+        }
+        byte kind = kindOf(meta(page, address));
+        return kind == NUMBER || kind == FORMULA
+                ? Double.longBitsToDouble(region(page).getLong(slot(page, address))) : 0;
+    }
+
+    @Override
+    public String text(long address) {
+        int page = page(address, false);
+        if (page < 0) {
+            return null;
+        }
+        long meta = meta(page, address);
+        byte kind = kindOf(meta);
+        return kind == TEXT || kind == FORMULA ? readString(meta >>> 16) : null;
+    }
+
+    @Override
+    public String error(long address) {
+        int page = page(address, false);
+        return page < 0 ? null : ERRORS[(int) (meta(page, address) >>> 8) & 0xFF];
+    }
+
+    @Override
+    public void setNumber(long address, double value) {
+        int page = page(address, true);
+        release(page, address);
+        ByteBuffer region = region(page);
+        int slot = slot(page, address);
+        region.putLong(slot, Double.doubleToRawLongBits(value));
+        region.putLong(slot + Long.BYTES, NUMBER);
+    }
+
+    @Override
+    public void setText(long address, byte kind, String value) {
+        if (kind != TEXT && kind != FORMULA) {
+            throw new IllegalArgumentException("kind must be TEXT or FORMULA");
+        }
+        long offset = appendString(value);
+        int page = page(address, true);
+        release(page, address);
+        ByteBuffer region = region(page);
+        int slot = slot(page, address);
+        region.putLong(slot, 0);
+        region.putLong(slot + Long.BYTES, (offset << 16) | kind);
+        if (kind == FORMULA) {
+            addToPageHeader(page, PAGE_FORMULAS, 1);
+        }
+    }
+
+    @Override
+    public void setResult(long address, double value, String error) {
+        int page = page(address, false);
+        long meta = page < 0 ? 0 : meta(page, address);
+        if (kindOf(meta) != FORMULA) {
+            throw new IllegalStateException("Not a formula cell: " + CellAddress.name(address));
+        }
+        ByteBuffer region = region(page);
+        int slot = slot(page, address);
+        region.putLong(slot, Double.doubleToRawLongBits(value));
+        region.putLong(slot + Long.BYTES, (meta & ~0xFF00L) | ((long) errorCode(error) << 8));
+    }
+
+    @Override
+    public void clear(long address) {
+        int page = page(address, false);
+        if (page < 0 || kindOf(meta(page, address)) == EMPTY) {
+            return;
+        }
+        release(page, address);
+        ByteBuffer region = region(page);
+        int slot = slot(page, address);
+        region.putLong(slot, 0);
+        region.putLong(slot + Long.BYTES, EMPTY);
+        addToPageHeader(page, PAGE_USED, -1);
+        header.putLong(SIZE, header.getLong(SIZE) - 1);
+    }
+
+    @Override
+    public long size() {
+        return header.getLong(SIZE);
+    }
+
+    @Override
+    public int rows() {
+        return header.getInt(ROWS);
+    }
+
+    @Override
+    public int columns() {
+        return header.getInt(COLUMNS);
+    }
+
+    @Override
+    public void forEachFormula(LongConsumer action) {
+        for (Map.Entry<Long, Integer> entry : pages.entrySet()) {
+            int page = entry.getValue();
+            ByteBuffer region = region(page);
+            int base = pageOffset(page);
+            if (region.getInt(base + PAGE_FORMULAS) == 0) {
+                continue;
+            }
+            int column = region.getInt(base + PAGE_COLUMN);
+            int firstRow = region.getInt(base + PAGE_INDEX) * PAGE_ROWS;
+            for (int i = 0; i < PAGE_ROWS; i++) {
+                if (kindOf(region.getLong(base + PAGE_HEADER_BYTES + i * SLOT_BYTES + Long.BYTES)) == FORMULA) {
+                    action.accept(CellAddress.pack(firstRow + i, column));
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of regions currently mapped.
+     */
+    public int mappedRegions() {
+        synchronized (regions) {
+            return regions.size();
+        }
+    }
+
+    /**
+     * Write mapped pages and the string log to disk; evicted regions were written on eviction.
+     */
+    public void flush() throws IOException {
+        synchronized (regions) {
+            for (MappedByteBuffer region : regions.values()) {
+                region.force();
+            }
+        }
+        header.force();
+        stringChannel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            synchronized (regions) {
+                regions.clear();
+            }
+            channel.close();
+            stringChannel.close();
+        }
+    }
+
+    // Frees the old slot contents; counts the cell if it was empty
+    private void release(int page, long address) {
+        byte kind = kindOf(meta(page, address));
+        if (kind == EMPTY) {
+            addToPageHeader(page, PAGE_USED, 1);
+            header.putLong(SIZE, header.getLong(SIZE) + 1);
+        } else if (kind == FORMULA) {
+            addToPageHeader(page, PAGE_FORMULAS, -1);
+        }
+    }
+
+    private int page(long address, boolean create) {
+        int column = CellAddress.columnOf(address);
+        int row = CellAddress.rowOf(address);
+        long key = pageKey(column, row / PAGE_ROWS);
+        Integer page = pages.get(key);
+        if (!create) {
+            return page == null ? -1 : page;
+        }
+        if (row >= header.getInt(ROWS)) {
+            header.putInt(ROWS, row + 1);
+        }
+        if (column >= header.getInt(COLUMNS)) {
+            header.putInt(COLUMNS, column + 1);
+        }
+        if (page != null) {
+            return page;
+        }
+        int created = header.getInt(PAGE_COUNT);
+        ByteBuffer region = region(created);
+        int base = pageOffset(created);
+        region.putInt(base + PAGE_COLUMN, column);
+        region.putInt(base + PAGE_INDEX, row / PAGE_ROWS);
+        header.putInt(PAGE_COUNT, created + 1);
+        pages.put(key, created);
+        return created;
+    }
+
+    // get() relinks the access-ordered LRU, so even lookups take the lock
+    private MappedByteBuffer region(int page) {
+        int index = page / PAGES_PER_REGION;
+        synchronized (regions) {
+            MappedByteBuffer region = regions.get(index);
+            if (region == null) {
+                try {
+                    // Mapping past the end grows the (sparse) file
+                    region = channel.map(FileChannel.MapMode.READ_WRITE,
+                            FILE_HEADER_BYTES + index * REGION_BYTES, REGION_BYTES);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                regions.put(index, region);
+            }
+            return region;
+        }
+    }
+
+    private long meta(int page, long address) {
+        return region(page).getLong(slot(page, address) + Long.BYTES);
+    }
+
+    private void addToPageHeader(int page, int field, int delta) {
+        ByteBuffer region = region(page);
+        int offset = pageOffset(page) + field;
+        region.putInt(offset, region.getInt(offset) + delta);
+    }
+
+    private long appendString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long offset = header.getLong(STRINGS_LENGTH);
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+        record.putInt(bytes.length).put(bytes).flip();
+        try {
+            long position = offset;
+            while (record.hasRemaining()) {
+                position += stringChannel.write(record, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        header.putLong(STRINGS_LENGTH, offset + record.limit());
+        synchronized (stringCache) {
+            stringCache.put(offset, value);
+        }
+        return offset;
+    }
+
+    private String readString(long offset) {
+        synchronized (stringCache) {
+            String cached = stringCache.get(offset);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Read outside the lock; two threads missing on the same offset just both read it
+        try {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            readFully(length, offset);
+            ByteBuffer bytes = ByteBuffer.allocate(length.getInt(0));
+            readFully(bytes, offset + Integer.BYTES);
+            String value = new String(bytes.array(), StandardCharsets.UTF_8);
+            synchronized (stringCache) {
+                stringCache.put(offset, value);
+            }
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = stringChannel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Truncated string log");
+            }
+            position += read;
+        }
+    }
+
+    private static int slot(int page, long address) {
+        return pageOffset(page) + PAGE_HEADER_BYTES + (CellAddress.rowOf(address) % PAGE_ROWS) * SLOT_BYTES;
+    }
+
+    private static int pageOffset(int page) {
+        return (page % PAGES_PER_REGION) * PAGE_BYTES;
+    }
+
+    private static long pageKey(int column, int pageIndex) {
+        return CellAddress.pack(pageIndex, column);
+    }
+
+    private static byte kindOf(long meta) {
+        return (byte) meta;
+    }
+
+    private static int errorCode(String error) {
+        for (int i = 1; i < ERRORS.length; i++) {
+            if (ERRORS[i].equals(error)) {
+                return i;
+            }
+        }
+        if (error != null) {
+            throw new IllegalArgumentException("Unknown formula error: " + error);
+        }
+        return 0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("sheet", ".cells");
+        Path strings = file.resolveSibling(file.getFileName() + ".strings");
+        try {
+            long start = System.nanoTime();
+            try (MappedCellStore store = new MappedCellStore(file, 8)) {
+                ExcelSheet sheet = new ExcelSheet(store);
+                for (int row = 1; row <= 1_000_000; row++) {
+                    sheet.setCell("A" + row, Integer.toString(row % 1000));
+                }
+                sheet.setCell("B1", "=SUM(A1:A1000000)");
+                sheet.setCell("B2", "label");
+                System.out.println("Wrote 1M cells in " + (System.nanoTime() - start) / 1_000_000 + " ms, "
+                        + store.mappedRegions() + " regions mapped, file " + Files.size(file) / 1024 / 1024 + " MB");
+            }
+
+            start = System.nanoTime();
+            try (MappedCellStore store = new MappedCellStore(file, 8)) {
+                ExcelSheet sheet = new ExcelSheet(store);
+                System.out.println("Reopened in " + (System.nanoTime() - start) / 1_000_000 + " ms: A999: "
+                        + sheet.getCell("A999") + ", B1: " + sheet.getCell("B1") + ", B2: " + sheet.getCell("B2"));
+                sheet.setCell("A1", "1001");
+                System.out.println("After A1=1001 -> B1: " + sheet.getCell("B1"));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(strings);
+        }
+    }
+}
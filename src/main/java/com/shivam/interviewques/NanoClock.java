@@ -0,0 +1,20 @@
+package com.shivam.interviewques;
+
+/**
+ * Monotonic time source for the rate limiters, in nanoseconds.
+ * Unlike wall-clock time it never jumps backwards on NTP corrections.
+ * Use {@link CoarseNanoClock} to avoid a clock read per request and
+ * {@link ManualNanoClock} to drive limiters deterministically in tests.
+ */
+@FunctionalInterface
+public interface NanoClock {
+
+    long nanoTime();
+
+    /**
+     * Clock backed by {@link System#nanoTime()}.
+     */
+    static NanoClock system() {
+        return System::nanoTime;
+    }
+}
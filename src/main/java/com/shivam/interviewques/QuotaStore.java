@@ -0,0 +1,16 @@
+package com.shivam.interviewques;
+
+/**
+ * Shared counter store used by {@link ClusterRateLimiter}: every node leases
+ * chunks of the same per-window quota from it.
+ */
+public interface QuotaStore {
+
+    /**
+     * Atomically take up to {@code requested} permits of window {@code windowId}
+     * for limiter {@code name}, out of {@code limit} permits per window.
+     *
+     * @return permits granted, 0 if the window's quota is used up
+     */
+    int lease(String name, long windowId, int limit, int requested);
+}
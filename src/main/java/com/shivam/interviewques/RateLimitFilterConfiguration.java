@@ -0,0 +1,80 @@
+package com.shivam.interviewques;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+
+/**
+ * Applies a per-client {@link KeyedRateLimiter} to every HTTP request when the app
+ * runs on a web stack: a servlet filter on the blocking stack, a WebFilter on WebFlux.
+ * Turned off with {@code rate-limiter.filter.enabled=false}.
+ */
+@Configuration
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "rate-limiter.filter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilterConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public KeyedRateLimiter clientRateLimiter(RateLimiterProperties properties) {
+        return new KeyedRateLimiter(properties.toConfig(), properties.filter().idleTimeout(), 16,
+                properties.filter().maxKeys(), NanoClock.system());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimitKeyResolver rateLimitKeyResolver(RateLimiterProperties properties) {
+        return properties.filter().trustKeyHeader()
+                ? RateLimitKeyResolver.trustedHeader(properties.filter().maxKeyLength())
+                : RateLimitKeyResolver.remoteAddress();
+    }
+
+    @Bean
+    public RateLimitFilterSupport rateLimitFilterSupport(KeyedRateLimiter clientRateLimiter,
+                                                         RateLimitKeyResolver rateLimitKeyResolver,
+                                                         RateLimiterProperties properties) {
+        return new RateLimitFilterSupport(clientRateLimiter, properties.filter().keyHeader(),
+                rateLimitKeyResolver, properties.window().toSeconds());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "rate-limiter.filter", name = "snapshot-file")
+    public RateLimiterSnapshotter clientRateLimiterSnapshotter(KeyedRateLimiter clientRateLimiter,
+                                                               RateLimiterProperties properties) throws IOException {
+        RateLimiterSnapshotter snapshotter =
+                new RateLimiterSnapshotter(clientRateLimiter, properties.filter().snapshotFile());
+        snapshotter.restore();
+        snapshotter.start(properties.filter().snapshotInterval());
+        return snapshotter;
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "jakarta.servlet.Filter")
+    static class ServletFilterConfiguration {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+        public RateLimitServletFilter rateLimitServletFilter(RateLimitFilterSupport support) {
+            return new RateLimitServletFilter(support);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(name = "org.springframework.web.server.WebFilter")
+    static class ReactiveFilterConfiguration {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+        public RateLimitWebFilter rateLimitWebFilter(RateLimitFilterSupport support) {
+            return new RateLimitWebFilter(support);
+        }
+    }
+}
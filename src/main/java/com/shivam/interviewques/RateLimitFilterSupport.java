@@ -0,0 +1,101 @@
+package com.shivam.interviewques;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Stack-independent part of the rate limit filters: key resolution (delegated
+ * to a {@link RateLimitKeyResolver}), the limiter call and header values. Header values come from a table of
+ * pre-built number strings, and client addresses map to cached key strings,
+ * so the per-request path does not allocate.
+ */
+public class RateLimitFilterSupport {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int MAX_CACHED_NUMBER = 1 << 16;
+    private static final int ADDRESS_KEY_SLOTS = 1 << 12;
+
+    // Direct-mapped cache of address -> key; entries are immutable, so racing writers only cost a miss
+    private record AddressKey(InetAddress address, String key) {
+    }
+
+    private final KeyedRateLimiter limiter;
+    private final String keyHeader;
+    private final RateLimitKeyResolver keyResolver;
+    private final String[] numbers;
+    private final AddressKey[] addressKeys = new AddressKey[ADDRESS_KEY_SLOTS];
+
+    public RateLimitFilterSupport(KeyedRateLimiter limiter, String keyHeader, RateLimitKeyResolver keyResolver,
+                                  long windowSeconds) {
+        this.limiter = limiter;
+        this.keyHeader = keyHeader;
+        this.keyResolver = keyResolver;
+        int size = (int) Math.min(MAX_CACHED_NUMBER, Math.max(limiter.getMaxRequests(), windowSeconds + 1) + 1);
+        this.numbers = new String[size];
+        for (int i = 0; i < size; i++) {
+            numbers[i] = Integer.toString(i);
+        }
+    }
+
+    public String keyHeader() {
+        return keyHeader;
+    }
+
+    // Both arguments are strings the web stack already holds; nothing new is built
+    public String resolveKey(String headerValue, String remoteAddress) {
+        return keyResolver.resolve(headerValue, remoteAddress);
+    }
+
+    /**
+     * Same, for stacks that expose the client as a socket address: the address
+     * key is the numeric address, built once per address instead of once per request.
+     */
+    public String resolveKey(String headerValue, InetSocketAddress remote) {
+        String remoteAddress;
+        if (remote == null) {
+            remoteAddress = "unknown";
+        } else {
+            InetAddress address = remote.getAddress();
+            remoteAddress = address != null ? addressKey(address) : remote.getHostString();
+        }
+        return keyResolver.resolve(headerValue, remoteAddress);
+    }
+
+    public boolean tryConsume(String key) {
+        return limiter.tryConsume(key);
+    }
+
+    public String limit() {
+        return format(limiter.getMaxRequests());
+    }
+
+    public String remaining(String key) {
+        return format(limiter.remaining(key));
+    }
+
+    // Whole seconds, rounded up and at least 1, as Retry-After expects
+    public String retryAfterSeconds(String key) {
+        long nanos = limiter.nanosUntilAvailable(key);
+        return format(Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L));
+    }
+
+    // InetAddress hashCode and equals work on the raw address without copying it
+    private String addressKey(InetAddress address) {
+        int slot = (address.hashCode() * 0x9E3779B9 >>> 20) & (ADDRESS_KEY_SLOTS - 1);
+        AddressKey cached = addressKeys[slot];
+        if (cached != null && cached.address().equals(address)) {
+            return cached.key();
+        }
+        String key = address.getHostAddress();
+        addressKeys[slot] = new AddressKey(address, key);
+        return key;
+    }
+
+    private String format(long value) {
+        return value >= 0 && value < numbers.length ? numbers[(int) value] : Long.toString(value);
+    }
+}
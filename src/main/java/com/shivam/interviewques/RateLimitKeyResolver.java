@@ -0,0 +1,32 @@
+package com.shivam.interviewques;
+
+/**
+ * Picks the rate limit key of a request from the key header (may be null) and
+ * the client's remote address. Declare a bean of this type to replace the
+ * default, e.g. to key on an authenticated principal.
+ */
+@FunctionalInterface
+public interface RateLimitKeyResolver {
+
+    String resolve(String headerValue, String remoteAddress);
+
+    /**
+     * Always the remote address: a client cannot pick its own key.
+     */
+    static RateLimitKeyResolver remoteAddress() {
+        return (headerValue, remoteAddress) -> remoteAddress;
+    }
+
+    /**
+     * The header when present and at most {@code maxLength} chars, else the remote address.
+     * Only safe when something in front of the app (a gateway, an auth filter) has
+     * already checked the header; otherwise every request can claim a fresh key.
+     */
+    static RateLimitKeyResolver trustedHeader(int maxLength) {
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("maxLength must be >= 1");
+        }
+        return (headerValue, remoteAddress) -> headerValue != null && !headerValue.isEmpty()
+                && headerValue.length() <= maxLength ? headerValue : remoteAddress;
+    }
+}
@@ -0,0 +1,42 @@
+package com.shivam.interviewques;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Servlet (blocking stack) filter: rejects over-limit clients with 429.
+ */
+public class RateLimitServletFilter implements Filter {
+
+    private final RateLimitFilterSupport support;
+
+    public RateLimitServletFilter(RateLimitFilterSupport support) {
+        this.support = support;
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+
+        String key = support.resolveKey(request.getHeader(support.keyHeader()), request.getRemoteAddr());
+        boolean allowed = support.tryConsume(key);
+
+        response.setHeader(RateLimitFilterSupport.LIMIT_HEADER, support.limit());
+        response.setHeader(RateLimitFilterSupport.REMAINING_HEADER, support.remaining(key));
+        if (allowed) {
+            chain.doFilter(req, res);
+            return;
+        }
+        response.setHeader(RateLimitFilterSupport.RETRY_AFTER_HEADER, support.retryAfterSeconds(key));
+        response.setStatus(RateLimitFilterSupport.TOO_MANY_REQUESTS);
+    }
+}
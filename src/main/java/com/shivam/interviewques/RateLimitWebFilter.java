@@ -0,0 +1,41 @@
+package com.shivam.interviewques;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux (reactive stack) filter: rejects over-limit clients with 429.
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private final RateLimitFilterSupport support;
+
+    public RateLimitWebFilter(RateLimitFilterSupport support) {
+        this.support = support;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String key = support.resolveKey(request.getHeaders().getFirst(support.keyHeader()),
+                request.getRemoteAddress());
+        boolean allowed = support.tryConsume(key);
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.set(RateLimitFilterSupport.LIMIT_HEADER, support.limit());
+        headers.set(RateLimitFilterSupport.REMAINING_HEADER, support.remaining(key));
+        if (allowed) {
+            return chain.filter(exchange);
+        }
+        headers.set(RateLimitFilterSupport.RETRY_AFTER_HEADER, support.retryAfterSeconds(key));
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        return response.setComplete();
+    }
+}
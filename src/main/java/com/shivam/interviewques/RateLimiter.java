@@ -0,0 +1,116 @@
+package com.shivam.interviewques;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Common contract of the rate limiter engines, so they can be swapped and benchmarked.
+ */
+public interface RateLimiter {
+
+    enum Algorithm { SLIDING_LOG, SLIDING_WINDOW_COUNTER, TOKEN_BUCKET, GCRA }
+
+    /**
+     * Attempt to consume a request slot.
+     *
+     * @return true if request is allowed, false if rate limit exceeded
+     */
+    default boolean tryConsume() {
+        return tryConsume(1);
+    }
+
+    /**
+     * Attempt to consume {@code permits} slots at once; either all are granted or none.
+     */
+    boolean tryConsume(int permits);
+
+    /**
+     * Consume as many slots as are free, up to {@code max}.
+     *
+     * @return number of slots granted, 0 if rate limit exceeded
+     */
+    int tryConsumeUpTo(int max);
+
+    /**
+     * Permits counted against the current window, or -1 if the engine cannot tell locally.
+     */
+    default long occupancy() {
+        return -1;
+    }
+
+    /**
+     * Atomically swap in new limits without dropping permits already granted.
+     */
+    void reconfigure(RateLimiterConfig config);
+
+    /**
+     * Give back {@code permits} granted by an earlier call that the caller ended up
+     * not using, e.g. because another limit in the same decision rejected it.
+     */
+    void refund(int permits);
+
+    /**
+     * Hint for callers: nanoseconds until one permit could be granted, 0 if one is free now.
+     */
+    long nanosUntilAvailable();
+
+    /**
+     * Future that completes once a permit has been consumed for the caller.
+     * Waiters queue up in FIFO order per limiter; the head retries on the shared
+     * {@link TimerWheel} at the time reported by {@link #nanosUntilAvailable()},
+     * so no thread sleeps or spins per waiter. Cancelling the future gives up its
+     * place, and a permit taken for a future cancelled meanwhile is refunded.
+     * A future that has to wait is completed on CompletableFuture's default async pool.
+     */
+    default CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AsyncPermitQueue.acquire(this, future, future.defaultExecutor(), TimerWheel.shared());
+        return future;
+    }
+
+    /**
+     * Like {@link #acquireAsync()}, but a future that has to wait is completed on
+     * {@code executor}, so its dependent stages run there and never on the timer wheel thread.
+     */
+    default CompletableFuture<Void> acquireAsync(Executor executor) {
+        return acquireAsync(executor, TimerWheel.shared());
+    }
+
+    /**
+     * Like {@link #acquireAsync(Executor)}, with retries driven by {@code wheel};
+     * give it a wheel on the limiter's own clock when that is not the system clock.
+     */
+    default CompletableFuture<Void> acquireAsync(Executor executor, TimerWheel wheel) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AsyncPermitQueue.acquire(this, future, executor, wheel);
+        return future;
+    }
+
+    /**
+     * Build a limiter for {@code config} with the given algorithm.
+     */
+    static RateLimiter create(Algorithm algorithm, RateLimiterConfig config) {
+        return create(algorithm, config, NanoClock.system());
+    }
+
+    static RateLimiter create(Algorithm algorithm, RateLimiterConfig config, NanoClock clock) {
+        switch (algorithm) {
+            case TOKEN_BUCKET:
+                return new TokenBucketRateLimiter(config, clock);
+            case GCRA:
+                return new GcraRateLimiter(config, clock);
+            case SLIDING_WINDOW_COUNTER:
+                return new SlidingWindowRateLimiterService(
+                        SlidingWindowRateLimiterService.Mode.SLIDING_WINDOW_COUNTER, config, clock);
+            default:
+                return new SlidingWindowRateLimiterService(
+                        SlidingWindowRateLimiterService.Mode.SLIDING_LOG, config, clock);
+        }
+    }
+
+    static void checkPermits(int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be >= 1");
+        }
+    }
+}
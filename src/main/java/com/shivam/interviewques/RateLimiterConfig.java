@@ -0,0 +1,22 @@
+package com.shivam.interviewques;
+
+import java.time.Duration;
+
+/**
+ * Immutable rate limit: at most {@code maxRequests} per {@code window}.
+ */
+public record RateLimiterConfig(int maxRequests, Duration window) {
+
+    public RateLimiterConfig {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be >= 1");
+        }
+        if (window == null || window.isNegative() || window.toNanos() < maxRequests) {
+            throw new IllegalArgumentException("window must be positive and at least maxRequests ns long");
+        }
+    }
+
+    public static RateLimiterConfig of(int maxRequests, Duration window) {
+        return new RateLimiterConfig(maxRequests, window);
+    }
+}
@@ -0,0 +1,25 @@
+package com.shivam.interviewques;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the application's {@link RateLimiter} from {@link RateLimiterProperties},
+ * instrumented so its {@link RateLimiterMetrics} can be injected elsewhere.
+ * Limits can be changed at runtime with {@link RateLimiter#reconfigure(RateLimiterConfig)}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimiterProperties.class)
+public class RateLimiterConfiguration {
+
+    @Bean
+    public InstrumentedRateLimiter rateLimiter(RateLimiterProperties properties) {
+        return new InstrumentedRateLimiter(RateLimiter.create(properties.algorithm(), properties.toConfig()));
+    }
+
+    @Bean
+    public RateLimiterMetrics rateLimiterMetrics(InstrumentedRateLimiter rateLimiter) {
+        return rateLimiter.metrics();
+    }
+}
@@ -0,0 +1,44 @@
+package com.shivam.interviewques;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Allowed/rejected counters and decision latency of one rate limiter.
+ * Recording only touches {@link LongAdder}s, so it adds no lock and no allocation
+ * to the hot path; {@link #snapshot()} does the aggregation on the reader side.
+ */
+public class RateLimiterMetrics {
+
+    public record Snapshot(long allowed, long rejected, long occupancy,
+                           long p50Nanos, long p99Nanos, long p999Nanos) {
+    }
+
+    private final RateLimiter limiter;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public RateLimiterMetrics(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    void record(boolean wasAllowed, long latencyNanos) {
+        (wasAllowed ? allowed : rejected).increment();
+        latency.record(latencyNanos);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(allowed.sum(), rejected.sum(), limiter.occupancy(),
+                latency.valueAtPercentile(50), latency.valueAtPercentile(99), latency.valueAtPercentile(99.9));
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public void reset() {
+        allowed.reset();
+        rejected.reset();
+        latency.reset();
+    }
+}
@@ -0,0 +1,45 @@
+package com.shivam.interviewques;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Binds {@code rate-limiter.*} from application.properties, e.g.
+ * {@code rate-limiter.max-requests=100} and {@code rate-limiter.window=1m}.
+ * {@code algorithm} picks the application-wide {@link RateLimiter} bean; the
+ * per-client filter always uses sliding window counters, which keep a few
+ * longs per client whatever the limit.
+ */
+@ConfigurationProperties(prefix = "rate-limiter")
+public record RateLimiterProperties(
+        @DefaultValue("SLIDING_LOG") RateLimiter.Algorithm algorithm,
+        @DefaultValue("100") int maxRequests,
+        @DefaultValue("1m") Duration window,
+        @DefaultValue Filter filter) {
+
+    /**
+     * Per-client HTTP filter, {@code rate-limiter.filter.*}. Clients are told apart by
+     * remote address. With {@code trust-key-header=true} they are told apart by
+     * {@code key-header} (e.g. an API key) of at most {@code max-key-length} chars
+     * instead; only enable it when the header is authenticated before this filter.
+     * At most {@code max-keys} clients get a window of their own.
+     * When {@code snapshot-file} is set, client state survives restarts.
+     */
+    public record Filter(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("X-Api-Key") String keyHeader,
+            @DefaultValue("false") boolean trustKeyHeader,
+            @DefaultValue("128") int maxKeyLength,
+            @DefaultValue("100000") int maxKeys,
+            @DefaultValue("10m") Duration idleTimeout,
+            Path snapshotFile,
+            @DefaultValue("10s") Duration snapshotInterval) {
+    }
+
+    public RateLimiterConfig toConfig() {
+        return RateLimiterConfig.of(maxRequests, window);
+    }
+}
@@ -0,0 +1,300 @@
+package com.shivam.interviewques;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Periodic binary snapshots of a {@link KeyedRateLimiter} in a memory-mapped file,
+ * so a restarted node resumes with its clients' windows instead of a free burst.
+ * The writer only reads the lock-free counters, so tryConsume() never waits on it.
+ * <p>
+ * Layout: header (magic, buckets per key, window ns, wall-clock ms, key count,
+ * table slots, table position), then per key its UTF-8 length and bytes followed
+ * by one long per sub-window, then an open-addressing table of record offsets
+ * keyed by the hash of the key bytes.
+ * <p>
+ * {@link #restore()} only maps the file and checks its header, whatever the key
+ * count; each key is loaded from the mapping the first time the limiter sees it,
+ * and the first periodic write loads the rest in the background.
+ */
+public class RateLimiterSnapshotter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiterSnapshotter.class);
+
+    private static final int MAGIC = 0x524C5332; // "RLS2"
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2 + Integer.BYTES * 3;
+
+    private final KeyedRateLimiter limiter;
+    private final Path file;
+    private final ScheduledExecutorService writer;
+    // Snapshot being loaded lazily since restore(), until the next write loads the rest
+    private volatile Restored restored;
+
+    public RateLimiterSnapshotter(KeyedRateLimiter limiter, Path file) {
+        this.limiter = limiter;
+        this.file = file;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limiter-snapshotter");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Write a snapshot every {@code interval}, and once more on {@link #close()}.
+     */
+    public void start(Duration interval) {
+        long period = Math.max(1, interval.toMillis());
+        writer.scheduleWithFixedDelay(this::writeQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write the snapshot to a temp file, then atomically replace the previous one.
+     *
+     * @return number of keys written
+     */
+    public int write() throws IOException {
+        ConcurrentHashMap<String, SlidingWindowCounter> counters = limiter.counters();
+        Restored pending = restored;
+        if (pending != null) {
+            // Keys nobody asked for since the restart must not drop out of the new snapshot
+            pending.loadAll(counters);
+            limiter.restoreFrom(null);
+            restored = null;
+        }
+        long now = limiter.clock().nanoTime();
+        long window = limiter.windowNanos();
+        int buckets = KeyedRateLimiter.newCounter().bucketCount();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        int keys = 0;
+        int[] offsets = new int[Math.max(16, counters.size())];
+        int[] hashes = new int[offsets.length];
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long capacity = HEADER_BYTES + (long) Math.max(1024, counters.size()) * (Short.BYTES + Long.BYTES * buckets + 48);
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            out.position(HEADER_BYTES);
+
+            for (Map.Entry<String, SlidingWindowCounter> entry : counters.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                if (key.length > Short.MAX_VALUE) {
+                    continue;
+                }
+                // The map may grow while writing: remap a larger region of the same file
+                out = ensureRemaining(channel, out, Short.BYTES + key.length + Long.BYTES * buckets);
+                if (keys == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, keys * 2);
+                    hashes = Arrays.copyOf(hashes, keys * 2);
+                }
+                offsets[keys] = out.position();
+                hashes[keys++] = hash(key);
+                out.putShort((short) key.length).put(key);
+                entry.getValue().exportTo(out, now, window);
+            }
+
+            // At most half full, so probes stay short
+            int slots = Integer.highestOneBit(Math.max(1, keys) * 2 - 1) << 1;
+            int[] table = new int[slots];
+            for (int i = 0; i < keys; i++) {
+                int slot = hashes[i] & (slots - 1);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (slots - 1);
+                }
+                table[slot] = offsets[i];
+            }
+            out = ensureRemaining(channel, out, Integer.BYTES * slots);
+            int tablePosition = out.position();
+            out.asIntBuffer().put(table);
+            int end = tablePosition + Integer.BYTES * slots;
+
+            out.position(0);
+            out.putInt(MAGIC).putInt(buckets).putLong(window).putLong(System.currentTimeMillis()).putInt(keys)
+                    .putInt(slots).putInt(tablePosition);
+            out.force();
+            channel.truncate(end);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return keys;
+    }
+
+    /**
+     * Make the last snapshot available to the limiter, ageing it by the wall-clock
+     * time since it was written. Only the header is read here; keys are loaded on
+     * first use and skipped if their windows have fully expired by then.
+     *
+     * @return number of keys in the snapshot, 0 if there is no usable snapshot
+     */
+    public int restore() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return 0;
+            }
+            // The mapping stays valid after the channel is closed
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int buckets = KeyedRateLimiter.newCounter().bucketCount();
+        if (in.getInt(0) != MAGIC || in.getInt(4) != buckets || in.getLong(8) != limiter.windowNanos()) {
+            return 0;
+        }
+        Restored snapshot = new Restored(in, in.getLong(16), in.getInt(24), in.getInt(28), in.getInt(32));
+        if (snapshot.elapsedNanos() >= limiter.windowNanos()) {
+            return 0;
+        }
+        restored = snapshot;
+        limiter.restoreFrom(snapshot);
+        return snapshot.keys;
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeQuietly();
+    }
+
+    // A failed write must not cancel the schedule; the next one retries
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Writing rate limiter snapshot {} failed, retrying at the next interval", file, e);
+        }
+    }
+
+    private static MappedByteBuffer ensureRemaining(FileChannel channel, MappedByteBuffer out, int bytes)
+            throws IOException {
+        if (out.remaining() >= bytes) {
+            return out;
+        }
+        int position = out.position();
+        MappedByteBuffer larger = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max((long) out.capacity() * 2, (long) position + bytes));
+        larger.position(position);
+        return larger;
+    }
+
+    private static int hash(byte[] key) {
+        int h = 0x811C9DC5;
+        for (byte b : key) {
+            h = (h ^ b) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Read-only view of a mapped snapshot; lookups only use absolute reads, so any thread may call them
+    private final class Restored implements Function<String, SlidingWindowCounter> {
+        private final MappedByteBuffer in;
+        private final long savedAtMillis;
+        private final int keys;
+        private final int slots;
+        private final int tablePosition;
+
+        Restored(MappedByteBuffer in, long savedAtMillis, int keys, int slots, int tablePosition) {
+            this.in = in;
+            this.savedAtMillis = savedAtMillis;
+            this.keys = keys;
+            this.slots = slots;
+            this.tablePosition = tablePosition;
+        }
+
+        long elapsedNanos() {
+            return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - savedAtMillis);
+        }
+
+        /**
+         * The key's restored counter, or null if it is not in the snapshot or has nothing left in its window.
+         */
+        @Override
+        public SlidingWindowCounter apply(String key) {
+            long elapsed = elapsedNanos();
+            if (elapsed >= limiter.windowNanos()) {
+                return null;
+            }
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            int mask = slots - 1;
+            for (int slot = hash(bytes) & mask; ; slot = (slot + 1) & mask) {
+                int offset = in.getInt(tablePosition + slot * Integer.BYTES);
+                if (offset == 0) {
+                    return null;
+                }
+                if (matches(offset, bytes)) {
+                    return load(offset + Short.BYTES + bytes.length, elapsed);
+                }
+            }
+        }
+
+        // Everything not loaded yet, straight through the records
+        void loadAll(ConcurrentHashMap<String, SlidingWindowCounter> counters) {
+            long elapsed = elapsedNanos();
+            if (elapsed >= limiter.windowNanos()) {
+                return;
+            }
+            int buckets = KeyedRateLimiter.newCounter().bucketCount();
+            byte[] scratch = new byte[256];
+            int position = HEADER_BYTES;
+            for (int i = 0; i < keys; i++) {
+                int length = in.getShort(position);
+                if (scratch.length < length) {
+                    scratch = new byte[length];
+                }
+                in.get(position + Short.BYTES, scratch, 0, length);
+                int record = position + Short.BYTES + length;
+                position = record + Long.BYTES * buckets;
+                String key = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                if (!counters.containsKey(key)) {
+                    SlidingWindowCounter counter = load(record, elapsed);
+                    if (counter != null) {
+                        counters.putIfAbsent(key, counter);
+                    }
+                }
+            }
+        }
+
+        private boolean matches(int offset, byte[] key) {
+            if (in.getShort(offset) != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (in.get(offset + Short.BYTES + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private SlidingWindowCounter load(int record, long elapsed) {
+            SlidingWindowCounter counter = KeyedRateLimiter.newCounter();
+            ByteBuffer sub = in.duplicate().position(record);
+            return counter.importFrom(sub, limiter.clock().nanoTime(), limiter.windowNanos(), elapsed)
+                    ? counter : null;
+        }
+    }
+}
@@ -1,12 +1,9 @@
 package com.shivam.interviewques;
 
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-
-import java.time.Instant;
-import java.util.Deque;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Thread-safe sliding window rate limiter.
@@ -17,12 +14,13 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 
 public class RateLimiterTest {
 
-    public static void main(String[] args) throws InterruptedException {
-        SlidingWindowRateLimiterService limiter = new SlidingWindowRateLimiterService();
-
-        // Manually set configuration values for test
-        limiter.maxRequestsPerMinute = 5;   // max 5 requests
-        limiter.windowSizeSeconds = 10;     // per 10 seconds window
+    public static void main(String[] args) {
+        // Manual clock: "waiting" is clock.advance(...), so the whole demo runs in microseconds
+        ManualNanoClock clock = new ManualNanoClock();
+        // max 5 requests per 10 seconds window
+        RateLimiterConfig config = RateLimiterConfig.of(5, Duration.ofSeconds(10));
+        SlidingWindowRateLimiterService limiter =
+                new SlidingWindowRateLimiterService(SlidingWindowRateLimiterService.Mode.SLIDING_LOG, config, clock);
 
         // Simulate 10 rapid requests
         for (int i = 1; i <= 10; i++) {
@@ -33,12 +31,117 @@ public class RateLimiterTest {
 
         // Wait for window to expire
         System.out.println("Waiting for window to expire...");
-        Thread.sleep(9000);
+        clock.advance(Duration.ofSeconds(10));
 
         // Try again after window
         for (int i = 1; i <= 15; i++) {
             boolean allowed = limiter.tryConsume();
             System.out.println("Request after window : Req " + i + ": " + (allowed ? "Allowed" : "Blocked"));
         }
+
+        // Same limits, lock-free sliding window counter engine
+        SlidingWindowRateLimiterService counterLimiter = new SlidingWindowRateLimiterService(
+                SlidingWindowRateLimiterService.Mode.SLIDING_WINDOW_COUNTER, config, clock);
+
+        for (int i = 1; i <= 10; i++) {
+            boolean allowed = counterLimiter.tryConsume();
+            System.out.println("Counter mode : Req " + i + ": " + (allowed ? "Allowed" : "Blocked"));
+        }
+
+        // Micro-batches: one decision per batch instead of one per request
+        System.out.println("Batch of 3 : " + (counterLimiter.tryConsume(3) ? "Allowed" : "Blocked"));
+        clock.advance(Duration.ofSeconds(10));
+        System.out.println("Batch of 3 : " + (counterLimiter.tryConsume(3) ? "Allowed" : "Blocked"));
+        System.out.println("Up to 4 granted : " + counterLimiter.tryConsumeUpTo(4));
+
+        // Hot reconfiguration keeps the 5 permits already granted in this window
+        counterLimiter.reconfigure(RateLimiterConfig.of(8, Duration.ofSeconds(10)));
+        System.out.println("After raising limit to 8, up to 4 granted : " + counterLimiter.tryConsumeUpTo(4));
+
+        // Every engine behind the RateLimiter interface: 5 per second, 7 rapid requests
+        for (RateLimiter.Algorithm algorithm : RateLimiter.Algorithm.values()) {
+            RateLimiter engine = RateLimiter.create(algorithm, RateLimiterConfig.of(5, Duration.ofSeconds(1)), clock);
+            int allowed = 0;
+            for (int i = 1; i <= 7; i++) {
+                if (engine.tryConsume()) {
+                    allowed++;
+                }
+            }
+            System.out.println(algorithm + " : " + allowed + " of 7 allowed");
+        }
+
+        // Metrics: wrap any engine to count decisions and time tryConsume()
+        InstrumentedRateLimiter instrumented = new InstrumentedRateLimiter(
+                RateLimiter.create(RateLimiter.Algorithm.GCRA, RateLimiterConfig.of(5, Duration.ofSeconds(1)), clock));
+        for (int i = 1; i <= 7; i++) {
+            instrumented.tryConsume();
+        }
+        System.out.println("Metrics : " + instrumented.metrics().snapshot());
+
+        // Instead of busy-retrying, wait for the next permit without holding a thread;
+        // the wheel follows the manual clock, so advancing it is all the waiting there is
+        RateLimiter gcra = RateLimiter.create(RateLimiter.Algorithm.GCRA,
+                RateLimiterConfig.of(5, Duration.ofSeconds(1)), clock);
+        gcra.tryConsumeUpTo(5);
+        System.out.println("Next permit in ms : " + gcra.nanosUntilAvailable() / 1_000_000);
+        TimerWheel wheel = new TimerWheel(clock, Duration.ofMillis(1), 64);
+        CompletableFuture<Void> permit = gcra.acquireAsync(ForkJoinPool.commonPool(), wheel);
+        System.out.println("acquireAsync done before 200 ms : " + permit.isDone());
+        clock.advance(Duration.ofMillis(200));
+        permit.join();
+        System.out.println("acquireAsync done after 200 ms : " + permit.isDone());
+
+        // Cluster mode: two nodes share 10 permits per second, leasing 3 at a time from the store
+        QuotaStore store = new InMemoryQuotaStore();
+        RateLimiterConfig clusterConfig = RateLimiterConfig.of(10, Duration.ofSeconds(1));
+        ClusterRateLimiter nodeA = new ClusterRateLimiter("orders", clusterConfig, store, 3, clock);
+        ClusterRateLimiter nodeB = new ClusterRateLimiter("orders", clusterConfig, store, 3, clock);
+        int clusterAllowed = 0;
+        for (int i = 1; i <= 10; i++) {
+            clusterAllowed += (nodeA.tryConsume() ? 1 : 0) + (nodeB.tryConsume() ? 1 : 0);
+        }
+        System.out.println("Cluster : " + clusterAllowed + " of 20 allowed across 2 nodes");
+
+        // Per-client limits: each key gets its own 3 requests per second
+        try (KeyedRateLimiter keyed = new KeyedRateLimiter(
+                RateLimiterConfig.of(3, Duration.ofSeconds(1)), Duration.ofSeconds(5), 16, clock)) {
+            for (int i = 1; i <= 4; i++) {
+                System.out.println("client-a Req " + i + ": " + (keyed.tryConsume("client-a") ? "Allowed" : "Blocked")
+                        + ", client-b Req " + i + ": " + (keyed.tryConsume("client-b") ? "Allowed" : "Blocked"));
+            }
+        }
+
+        // Hierarchical quotas: global 10, per tenant 5, per endpoint 3 - rejected requests are refunded upstream
+        RateLimiter global = RateLimiter.create(RateLimiter.Algorithm.GCRA,
+                RateLimiterConfig.of(10, Duration.ofSeconds(1)), clock);
+        try (KeyedRateLimiter tenants = new KeyedRateLimiter(
+                     RateLimiterConfig.of(5, Duration.ofSeconds(1)), Duration.ofSeconds(5), 16, clock);
+             KeyedRateLimiter endpoints = new KeyedRateLimiter(
+                     RateLimiterConfig.of(3, Duration.ofSeconds(1)), Duration.ofSeconds(5), 16, clock)) {
+            HierarchicalRateLimiter quotas = new HierarchicalRateLimiter(global, tenants, endpoints);
+            for (int i = 1; i <= 4; i++) {
+                System.out.println("tenant-a /orders Req " + i + ": "
+                        + (quotas.tryConsume("tenant-a", "/orders") ? "Allowed" : "Blocked"));
+            }
+            for (int i = 1; i <= 3; i++) {
+                System.out.println("tenant-a /search Req " + i + ": "
+                        + (quotas.tryConsume("tenant-a", "/search") ? "Allowed" : "Blocked"));
+            }
+            System.out.println("Global permits in use : " + global.occupancy());
+        }
+
+        // Adaptive concurrency: the limit grows while latency is healthy and backs off when it degrades
+        AdaptiveConcurrencyLimiter adaptive = AdaptiveConcurrencyLimiter.aimd(10, 1, 100, Duration.ofMillis(50));
+        for (int round = 1; round <= 6; round++) {
+            long latency = round <= 3 ? Duration.ofMillis(10).toNanos() : Duration.ofMillis(200).toNanos();
+            int acquired = 0;
+            while (adaptive.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                adaptive.release(latency);
+            }
+            System.out.println("Adaptive round " + round + " : " + acquired + " in flight, limit now " + adaptive.getLimit());
+        }
     }
 }
@@ -0,0 +1,160 @@
+package com.shivam.interviewques;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the formula cells of one recalculation level by level on a {@link ForkJoinPool}.
+ * <p>
+ * A cell's level is one more than the highest level among its precedents, so all
+ * cells of a level are independent and are evaluated concurrently. Results are
+ * collected per level and published on the calling thread before the next level
+ * starts, so evaluators only ever read finished values and the sheet's maps are
+ * never written concurrently. Levels (or whole recalculations) smaller than the
+ * threshold run sequentially, where fork/join overhead would dominate.
+ */
+public class RecalculationScheduler {
+
+    public static final int DEFAULT_THRESHOLD = 512;
+
+    // Cells per leaf task; idle workers steal the other halves
+    private static final int GRAIN = 64;
+
+    /**
+     * Computes one cell; throws {@link FormulaException} for an error value.
+     */
+    public interface Evaluator {
+        double evaluate(long address);
+    }
+
+    /**
+     * Receives each result on the calling thread; {@code error} is null on success.
+     */
+    public interface Sink {
+        void accept(long address, double value, String error);
+    }
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public RecalculationScheduler() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public RecalculationScheduler(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be >= 1");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Sequential scheduler, e.g. for small sheets or single-core hosts.
+     */
+    public static RecalculationScheduler sequential() {
+        return new RecalculationScheduler(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Evaluate {@code order}, formula cells already in topological order.
+     */
+    public void run(List<Long> order, DependencyGraph graph, Evaluator evaluator, Sink sink) {
+        if (order.size() < threshold) {
+            for (long address : order) {
+                evaluateInto(address, evaluator, sink);
+            }
+            return;
+        }
+        for (long[] level : levels(order, graph)) {
+            if (level.length < threshold) {
+                for (long address : level) {
+                    evaluateInto(address, evaluator, sink);
+                }
+                continue;
+            }
+            double[] values = new double[level.length];
+            String[] errors = new String[level.length];
+            pool.invoke(new LevelTask(level, values, errors, evaluator, 0, level.length));
+            for (int i = 0; i < level.length; i++) {
+                sink.accept(level[i], values[i], errors[i]);
+            }
+        }
+    }
+
+    // Group cells by dependency depth inside this recalculation
+    private static List<long[]> levels(List<Long> order, DependencyGraph graph) {
+        HashMap<Long, Integer> levelOf = new HashMap<>();
+        for (long address : order) {
+            levelOf.put(address, 0);
+        }
+        List<List<Long>> levels = new ArrayList<>();
+        for (long address : order) {
+            // Final: every precedent came earlier in the order and already pushed its level here
+            int level = levelOf.get(address);
+            graph.forEachDependent(address, d -> levelOf.computeIfPresent(d, (k, l) -> Math.max(l, level + 1)));
+            if (level == levels.size()) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(address);
+        }
+
+        List<long[]> result = new ArrayList<>(levels.size());
+        for (List<Long> level : levels) {
+            long[] cells = new long[level.size()];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = level.get(i);
+            }
+            result.add(cells);
+        }
+        return result;
+    }
+
+    private static void evaluateInto(long address, Evaluator evaluator, Sink sink) {
+        try {
+            sink.accept(address, evaluator.evaluate(address), null);
+        } catch (FormulaException e) {
+            sink.accept(address, 0, e.getMessage());
+        }
+    }
+
+    // Fork/join tasks are never serialized
+    @SuppressWarnings("serial")
+    private static final class LevelTask extends RecursiveAction {
+        private final long[] cells;
+        private final double[] values;
+        private final String[] errors;
+        private final Evaluator evaluator;
+        private final int from;
+        private final int to;
+
+        LevelTask(long[] cells, double[] values, String[] errors, Evaluator evaluator, int from, int to) {
+            this.cells = cells;
+            this.values = values;
+            this.errors = errors;
+            this.evaluator = evaluator;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GRAIN) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        values[i] = evaluator.evaluate(cells[i]);
+                    } catch (FormulaException e) {
+                        errors[i] = e.getMessage();
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new LevelTask(cells, values, errors, evaluator, from, mid),
+                    new LevelTask(cells, values, errors, evaluator, mid, to));
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.shivam.interviewques;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streaming CSV import/export for {@link ExcelSheet} over NIO file channels.
+ * <p>
+ * The file goes through one fixed-size buffer and a byte state machine
+ * (RFC 4180 quoting), so working memory stays constant whatever the file size.
+ * Plain integers are parsed from the bytes straight into the sheet's number
+ * storage; only text fields become Strings. Column indexes are rebuilt and
+ * formulas recalculated once, after the whole file is in.
+ */
+public final class SheetCsv {
+
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private SheetCsv() {
+    }
+
+    /**
+     * Load {@code file} into {@code sheet}, first field of the file at A1.
+     *
+     * @return number of non-empty fields loaded
+     */
+    public static long read(Path file, ExcelSheet sheet) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Reader reader = new Reader(sheet);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            sheet.beginBulkLoad();
+            try {
+                while (channel.read(buffer) != -1) {
+                    buffer.flip();
+                    reader.parse(buffer.array(), buffer.limit());
+                    buffer.clear();
+                }
+                reader.finish();
+            } finally {
+                sheet.endBulkLoad();
+            }
+            return reader.loaded;
+        }
+    }
+
+    /**
+     * Write what {@link ExcelSheet#getCell} shows (formula results, not formulas)
+     * for the occupied rows and columns.
+     *
+     * @return number of rows written
+     */
+    public static int write(ExcelSheet sheet, Path file) throws IOException {
+        CellStore cells = sheet.cellStore();
+        int rows = cells.rows();
+        int columns = cells.columns();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer writer = new Writer(channel);
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    if (column > 0) {
+                        writer.put((byte) ',');
+                    }
+                    long address = CellAddress.pack(row, column);
+                    byte kind = cells.kind(address);
+                    if (kind == CellStore.NUMBER) {
+                        writer.number(cells.number(address));
+                    } else if (kind != CellStore.EMPTY) {
+                        writer.text(sheet.getCell(address));
+                    }
+                }
+                writer.put((byte) '\n');
+            }
+            writer.flush();
+        }
+        return rows;
+    }
+
+    private static final class Reader {
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+
+        private final ExcelSheet sheet;
+        // Bytes of the current field; only grows to the longest field
+        private byte[] field = new byte[64];
+        private int length;
+        private boolean wasQuoted;
+        private int state = FIELD_START;
+        private int row;
+        private int column;
+        long loaded;
+
+        Reader(ExcelSheet sheet) {
+            this.sheet = sheet;
+        }
+
+        void parse(byte[] bytes, int limit) {
+            for (int i = 0; i < limit; i++) {
+                byte b = bytes[i];
+                switch (state) {
+                    case FIELD_START:
+                        if (b == '"') {
+                            wasQuoted = true;
+                            state = QUOTED;
+                        } else {
+                            plain(b);
+                        }
+                        break;
+                    case UNQUOTED:
+                        plain(b);
+                        break;
+                    case QUOTED:
+                        if (b == '"') {
+                            state = QUOTE_IN_QUOTED;
+                        } else {
+                            append(b);
+                        }
+                        break;
+                    default:
+                        if (b == '"') {
+                            // "" inside quotes is a literal quote
+                            append(b);
+                            state = QUOTED;
+                        } else {
+                            plain(b);
+                        }
+                }
+            }
+        }
+
+        void finish() {
+            if (state != FIELD_START || column > 0) {
+                endField();
+                row++;
+            }
+        }
+
+        private void plain(byte b) {
+            if (b == ',') {
+                endField();
+            } else if (b == '\n') {
+                endField();
+                row++;
+                column = 0;
+            } else if (b != '\r') {
+                append(b);
+                state = UNQUOTED;
+            }
+        }
+
+        private void append(byte b) {
+            if (length == field.length) {
+                field = Arrays.copyOf(field, length * 2);
+            }
+            field[length++] = b;
+        }
+
+        private void endField() {
+            if (length > 0) {
+                long address = CellAddress.pack(row, column);
+                long number = wasQuoted ? -1 : integer();
+                if (number != -1) {
+                    sheet.loadNumber(address, number);
+                } else {
+                    sheet.loadText(address, new String(field, 0, length, StandardCharsets.UTF_8));
+                }
+                loaded++;
+            }
+            column++;
+            length = 0;
+            wasQuoted = false;
+            state = FIELD_START;
+        }
+
+        // The field as a non-negative canonical integer ("0", "42", not "042"), else -1
+        private long integer() {
+            if (length > 15 || (field[0] == '0' && length > 1)) {
+                return -1;
+            }
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                int digit = field[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+    }
+
+    private static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] digits = new byte[20];
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void put(byte b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(b);
+        }
+
+        void number(double value) throws IOException {
+            if (value != Math.rint(value) || Math.abs(value) >= 1e15) {
+                text(ExcelSheet.format(value));
+                return;
+            }
+            long n = (long) value;
+            if (n < 0) {
+                put((byte) '-');
+                n = -n;
+            }
+            int i = digits.length;
+            do {
+                digits[--i] = (byte) ('0' + n % 10);
+                n /= 10;
+            } while (n != 0);
+            while (i < digits.length) {
+                put(digits[i++]);
+            }
+        }
+
+        void text(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (quote) {
+                value = '"' + value.replace("\"", "\"\"") + '"';
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    bytes(value.substring(i).getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                put((byte) c);
+            }
+        }
+
+        private void bytes(byte[] bytes) throws IOException {
+            for (byte b : bytes) {
+                put(b);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path in = Files.createTempFile("sheet", ".csv");
+        Path out = Files.createTempFile("sheet-out", ".csv");
+        try {
+            // 1M rows x 4 columns: id, value, label, quoted note
+            try (FileChannel channel = FileChannel.open(in, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                for (int row = 1; row <= 1_000_000; row++) {
+                    byte[] line = (row + "," + (row % 1000) + ",item" + (row % 10) + ",\"a, \"\"b\"\"\"\n")
+                            .getBytes(StandardCharsets.US_ASCII);
+                    if (buffer.remaining() < line.length) {
+                        buffer.flip();
+                        channel.write(buffer);
+                        buffer.clear();
+                    }
+                    buffer.put(line);
+                }
+                buffer.flip();
+                channel.write(buffer);
+            }
+
+            ExcelSheet sheet = new ExcelSheet();
+            sheet.setCell("E1", "=SUM(B1:B1000000)");
+            long start = System.nanoTime();
+            long fields = read(in, sheet);
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            System.out.println("Imported " + fields + " fields, " + Files.size(in) / 1024 / 1024 + " MB in "
+                    + millis + " ms (" + Files.size(in) / 1024 / millis + " MB/s)");
+            System.out.println("B2: " + sheet.getCell("B2") + ", C3: " + sheet.getCell("C3")
+                    + ", D1: " + sheet.getCell("D1") + ", E1: " + sheet.getCell("E1"));
+
+            start = System.nanoTime();
+            int rows = write(sheet, out);
+            System.out.println("Exported " + rows + " rows in " + (System.nanoTime() - start) / 1_000_000
+                    + " ms; first line: " + Files.newBufferedReader(out).readLine());
+        } finally {
+            Files.deleteIfExists(in);
+            Files.deleteIfExists(out);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.shivam.interviewques;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding window counter.
+ * The window is split into a fixed ring of sub-windows. Each slot packs
+ * (sub-window id, count) into one long, so a single CAS both rolls a stale
+ * slot over and counts the request. Memory is O(buckets), whatever the limit.
+ */
+public class SlidingWindowCounter {
+
+    private final AtomicLongArray buckets;
+
+    public SlidingWindowCounter(int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("bucketCount must be >= 1");
+        }
+        this.buckets = new AtomicLongArray(bucketCount);
+    }
+
+    /**
+     * Try to count one request at time {@code now}.
+     *
+     * @param now    current time, in the same unit as {@code window}
+     * @param window window length
+     * @param limit  max requests per window
+     * @return true if request is allowed, false if rate limit exceeded
+     */
+    public boolean tryAcquire(long now, long window, int limit) {
+        return tryAcquireUpTo(now, window, limit, 1, 1) == 1;
+    }
+
+    /**
+     * Try to count {@code permits} requests at once; all or nothing.
+     */
+    public boolean tryAcquire(long now, long window, int limit, int permits) {
+        return tryAcquireUpTo(now, window, limit, permits, permits) == permits;
+    }
+
+    /**
+     * Count as many of {@code max} requests as fit in the window, in one CAS.
+     *
+     * @return number of permits granted, 0 if the window is full
+     */
+    public int tryAcquireUpTo(long now, long window, int limit, int max) {
+        return tryAcquireUpTo(now, window, limit, 1, max);
+    }
+
+    // Grants between min and max permits, or 0 if fewer than min fit
+    private int tryAcquireUpTo(long now, long window, int limit, int min, int max) {
+        int n = buckets.length();
+        long width = Math.max(1, window / n);
+        long subWindow = Math.floorDiv(now, width);
+        int current = (int) subWindow;
+        int index = (int) Math.floorMod(subWindow, (long) n);
+
+        while (true) {
+            long slot = buckets.get(index);
+            int base = id(slot) == current ? count(slot) : 0;
+            long free = limit - sumOthers(current, index) - base;
+            if (free < min) {
+                return 0;
+            }
+            int granted = (int) Math.min(free, max);
+            if (buckets.compareAndSet(index, slot, pack(current, base + granted))) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Take back up to {@code permits} counts, newest sub-window first.
+     */
+    public void release(long now, long window, int permits) {
+        int n = buckets.length();
+        long width = Math.max(1, window / n);
+        long subWindow = Math.floorDiv(now, width);
+        int left = permits;
+        for (int age = 0; age < n && left > 0; age++) {
+            int index = (int) Math.floorMod(subWindow - age, (long) n);
+            int id = (int) (subWindow - age);
+            while (true) {
+                long slot = buckets.get(index);
+                if (id(slot) != id || count(slot) == 0) {
+                    break;
+                }
+                int taken = Math.min(left, count(slot));
+                if (buckets.compareAndSet(index, slot, pack(id, count(slot) - taken))) {
+                    left -= taken;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Requests counted in the live sub-windows at time {@code now}.
+     */
+    public long occupancy(long now, long window) {
+        int n = buckets.length();
+        long width = Math.max(1, window / n);
+        int current = (int) Math.floorDiv(now, width);
+        long used = 0;
+        for (int i = 0; i < n; i++) {
+            long slot = buckets.get(i);
+            int age = current - id(slot);
+            if (age >= 0 && age < n) {
+                used += count(slot);
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Time until one more request fits, 0 if it fits now (same unit as {@code now}).
+     * When the window is full this is when the oldest live sub-window slides out.
+     */
+    public long timeUntilAvailable(long now, long window, int limit) {
+        int n = buckets.length();
+        long width = Math.max(1, window / n);
+        long subWindow = Math.floorDiv(now, width);
+        int current = (int) subWindow;
+
+        long used = 0;
+        int oldestAge = 0;
+        for (int i = 0; i < n; i++) {
+            long slot = buckets.get(i);
+            int age = current - id(slot);
+            if (age >= 0 && age < n && count(slot) != 0) {
+                used += count(slot);
+                oldestAge = Math.max(oldestAge, age);
+            }
+        }
+        if (used < limit) {
+            return 0;
+        }
+        return (subWindow + n - oldestAge) * width - now;
+    }
+
+    /**
+     * True if nothing was counted during the last {@code idleTime} (same unit as {@code now}).
+     */
+    public boolean isIdle(long now, long window, long idleTime) {
+        int n = buckets.length();
+        long width = Math.max(1, window / n);
+        int current = (int) (Math.floorDiv(now, width));
+        for (int i = 0; i < n; i++) {
+            long slot = buckets.get(i);
+            if (count(slot) != 0 && (long) (current - id(slot)) * width < idleTime) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int bucketCount() {
+        return buckets.length();
+    }
+
+    /**
+     * Write one long per sub-window as (age in sub-windows, count), which stays
+     * meaningful under another clock, e.g. after a restart.
+     */
+    public void exportTo(ByteBuffer out, long now, long window) {
+        int n = buckets.length();
+        long width = Math.max(1, window / n);
+        int current = (int) Math.floorDiv(now, width);
+        for (int i = 0; i < n; i++) {
+            long slot = buckets.get(i);
+            int age = current - id(slot);
+            out.putLong(age >= 0 && age < n ? pack(age, count(slot)) : 0L);
+        }
+    }
+
+    /**
+     * Load what {@link #exportTo} wrote {@code elapsed} ago, dropping sub-windows
+     * that have slid out since.
+     *
+     * @return true if any sub-window still counts
+     */
+    public boolean importFrom(ByteBuffer in, long now, long window, long elapsed) {
+        int n = buckets.length();
+        long width = Math.max(1, window / n);
+        long subWindow = Math.floorDiv(now, width);
+        long elapsedSubWindows = Math.max(0, elapsed) / width;
+        boolean live = false;
+        for (int i = 0; i < n; i++) {
+            long saved = in.getLong();
+            long age = id(saved) + elapsedSubWindows;
+            if (count(saved) != 0 && age < n) {
+                long restored = subWindow - age;
+                buckets.set((int) Math.floorMod(restored, (long) n), pack((int) restored, count(saved)));
+                live = true;
+            }
+        }
+        return live;
+    }
+
+    // Sum of the live sub-windows other than the current one
+    private long sumOthers(int current, int skip) {
+        int n = buckets.length();
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == skip) {
+                continue;
+            }
+            long slot = buckets.get(i);
+            int age = current - id(slot);
+            if (age > 0 && age < n) {
+                sum += count(slot);
+            }
+        }
+        return sum;
+    }
+
+    private static long pack(int id, int count) {
+        return ((long) id << 32) | (count & 0xFFFFFFFFL);
+    }
+
+    private static int id(long slot) {
+        return (int) (slot >>> 32);
+    }
+
+    private static int count(long slot) {
+        return (int) slot;
+    }
+}
@@ -1,19 +1,55 @@
 package com.shivam.interviewques;
 
-import org.springframework.beans.factory.annotation.Value;
-
-import java.time.Instant;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.concurrent.ConcurrentLinkedDeque;
 
-public class SlidingWindowRateLimiterService {
+public class SlidingWindowRateLimiterService implements RateLimiter {
+
+    /**
+     * SLIDING_LOG keeps every accepted batch with its timestamp (exact, but one lock per call).
+     * SLIDING_WINDOW_COUNTER keeps a fixed ring of sub-window counters and decides with a CAS loop.
+     */
+    public enum Mode { SLIDING_LOG, SLIDING_WINDOW_COUNTER }
+
+    private static final int DEFAULT_BUCKETS = 10;
+
+    // Limits and the counter ring they were built for, swapped together on reconfigure
+    private record State(int maxRequests, long windowNanos, SlidingWindowCounter counter) { }
+
+    private final Mode mode;
+    private final NanoClock clock;
+    private volatile State state;
 
+    // One entry per accepted batch, guarded by this; occupied is the sum of their permits
+    private record Entry(long timestamp, int permits) { }
+    private final Deque<Entry> requestTimestamps = new ArrayDeque<>();
+    private int occupied;
+
+    public SlidingWindowRateLimiterService(RateLimiterConfig config) {
+        this(Mode.SLIDING_LOG, config);
+    }
+
+    public SlidingWindowRateLimiterService(Mode mode, RateLimiterConfig config) {
+        this(mode, config, NanoClock.system());
+    }
+
+    public SlidingWindowRateLimiterService(Mode mode, RateLimiterConfig config, NanoClock clock) {
+        this.mode = mode;
+        this.clock = clock;
+        // Only SLIDING_WINDOW_COUNTER mode uses the counter ring
+        this.state = new State(config.maxRequests(), config.window().toNanos(),
+                mode == Mode.SLIDING_WINDOW_COUNTER ? new SlidingWindowCounter(DEFAULT_BUCKETS) : null);
+    }
 
-    public int maxRequestsPerMinute;
-    public long windowSizeSeconds;
+    public Mode getMode() {
+        return mode;
+    }
 
-    // Thread-safe deque to store timestamps of requests
-    private final Deque<Long> requestTimestamps = new ConcurrentLinkedDeque<>();
+    public RateLimiterConfig getConfig() {
+        State s = state;
+        return RateLimiterConfig.of(s.maxRequests(), Duration.ofNanos(s.windowNanos()));
+    }
 
     /**
      * Attempt to consume a request slot.
@@ -21,19 +57,142 @@ public class SlidingWindowRateLimiterService {
      * @return true if request is allowed, false if rate limit exceeded
      */
 
-    public synchronized boolean tryConsume() {
-        long now = Instant.now().toEpochMilli();
+    @Override
+    public boolean tryConsume() {
+        return tryConsume(1);
+    }
+
+    /**
+     * Attempt to consume {@code permits} slots at once; either all are granted or none.
+     *
+     * @return true if the whole batch is allowed, false if it would exceed the rate limit
+     */
+    @Override
+    public boolean tryConsume(int permits) {
+        RateLimiter.checkPermits(permits);
+        long now = clock.nanoTime();
+
+        if (mode == Mode.SLIDING_WINDOW_COUNTER) {
+            State s = state;
+            return s.counter().tryAcquire(now, s.windowNanos(), s.maxRequests(), permits);
+        }
+        return tryConsumeLog(now, permits, permits) == permits;
+    }
+
+    /**
+     * Consume as many slots as are free, up to {@code max}.
+     *
+     * @return number of slots granted, 0 if rate limit exceeded
+     */
+    @Override
+    public int tryConsumeUpTo(int max) {
+        RateLimiter.checkPermits(max);
+        long now = clock.nanoTime();
+
+        if (mode == Mode.SLIDING_WINDOW_COUNTER) {
+            State s = state;
+            return s.counter().tryAcquireUpTo(now, s.windowNanos(), s.maxRequests(), max);
+        }
+        return tryConsumeLog(now, 1, max);
+    }
+
+    @Override
+    public void refund(int permits) {
+        RateLimiter.checkPermits(permits);
+        long now = clock.nanoTime();
+
+        if (mode == Mode.SLIDING_WINDOW_COUNTER) {
+            State s = state;
+            s.counter().release(now, s.windowNanos(), permits);
+            return;
+        }
+        synchronized (this) {
+            // Shrink the newest entries, which is where the refunded permits were recorded
+            int left = permits;
+            while (left > 0 && !requestTimestamps.isEmpty()) {
+                Entry last = requestTimestamps.pollLast();
+                int taken = Math.min(left, last.permits());
+                if (taken < last.permits()) {
+                    requestTimestamps.addLast(new Entry(last.timestamp(), last.permits() - taken));
+                }
+                occupied -= taken;
+                left -= taken;
+            }
+        }
+    }
+
+    @Override
+    public long nanosUntilAvailable() {
+        long now = clock.nanoTime();
+
+        if (mode == Mode.SLIDING_WINDOW_COUNTER) {
+            State s = state;
+            return s.counter().timeUntilAvailable(now, s.windowNanos(), s.maxRequests());
+        }
+        synchronized (this) {
+            State s = state;
+            evictExpired(now, s.windowNanos());
+            if (occupied < s.maxRequests() || requestTimestamps.isEmpty()) {
+                return 0;
+            }
+            return requestTimestamps.peekFirst().timestamp() + s.windowNanos() - now;
+        }
+    }
+
+    @Override
+    public long occupancy() {
+        long now = clock.nanoTime();
+
+        if (mode == Mode.SLIDING_WINDOW_COUNTER) {
+            State s = state;
+            return s.counter().occupancy(now, s.windowNanos());
+        }
+        synchronized (this) {
+            evictExpired(now, state.windowNanos());
+            return occupied;
+        }
+    }
+
+    /**
+     * Swap in new limits. Permits already granted stay counted: the log keeps its
+     * entries, and on a window change the counter ring is replaced by one seeded
+     * with the current occupancy.
+     */
+    @Override
+    public synchronized void reconfigure(RateLimiterConfig config) {
+        State old = state;
+        long windowNanos = config.window().toNanos();
+        SlidingWindowCounter counter = old.counter();
+        if (counter != null && windowNanos != old.windowNanos()) {
+            long now = clock.nanoTime();
+            int used = (int) counter.occupancy(now, old.windowNanos());
+            counter = new SlidingWindowCounter(DEFAULT_BUCKETS);
+            if (used > 0) {
+                counter.tryAcquireUpTo(now, windowNanos, Integer.MAX_VALUE, used);
+            }
+        }
+        state = new State(config.maxRequests(), windowNanos, counter);
+    }
+
+    // Grants between min and max slots as a single weighted entry, or 0 if fewer than min are free
+    private synchronized int tryConsumeLog(long now, int min, int max) {
+        State s = state;
+        evictExpired(now, s.windowNanos());
 
-        while (!requestTimestamps.isEmpty() && now - requestTimestamps.peekFirst() >= windowSizeSeconds) {
-            requestTimestamps.pollFirst();
+        int free = s.maxRequests() - occupied;
+        if (free < min) {
+            return 0;
         }
+        int granted = Math.min(free, max);
+        requestTimestamps.addLast(new Entry(now, granted));
+        occupied += granted;
+        return granted;
+    }
 
-        if (requestTimestamps.size() < maxRequestsPerMinute) {
-            requestTimestamps.addLast(now);
-            return true;
-        } else {
-            return false;
+    private void evictExpired(long now, long windowNanos) {
+        while (!requestTimestamps.isEmpty() && now - requestTimestamps.peekFirst().timestamp() >= windowNanos) {
+            occupied -= requestTimestamps.pollFirst().permits();
         }
     }
 
-}
\ No newline at end of file
+}
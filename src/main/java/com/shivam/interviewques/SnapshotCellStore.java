@@ -0,0 +1,14 @@
+package com.shivam.interviewques;
+
+/**
+ * {@link CellStore} that can hand out point-in-time copies of itself,
+ * as {@link ConcurrentExcelSheet} needs for its lock-free readers.
+ */
+public interface SnapshotCellStore extends CellStore {
+
+    /**
+     * Read-only, point-in-time copy that later writes do not affect.
+     * It may be read from any thread while this store keeps being written.
+     */
+    CellStore snapshot();
+}
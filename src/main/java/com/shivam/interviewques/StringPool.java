@@ -0,0 +1,47 @@
+package com.shivam.interviewques;
+
+import java.util.HashMap;
+
+/**
+ * Reference-counted string interning: equal strings share one instance,
+ * which is forgotten once nothing refers to it any more.
+ */
+public class StringPool {
+
+    private static final class Entry {
+        final String value;
+        int refs;
+
+        Entry(String value) {
+            this.value = value;
+        }
+    }
+
+    private final HashMap<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Shared instance equal to {@code value}, adding one reference to it.
+     */
+    public String acquire(String value) {
+        Entry entry = entries.computeIfAbsent(value, Entry::new);
+        entry.refs++;
+        return entry.value;
+    }
+
+    /**
+     * Drop one reference; the string is forgotten when the last one goes.
+     */
+    public void release(String value) {
+        Entry entry = entries.get(value);
+        if (entry != null && --entry.refs == 0) {
+            entries.remove(value);
+        }
+    }
+
+    /**
+     * Number of distinct strings in use.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,123 @@
+package com.shivam.interviewques;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel driven by a single daemon thread.
+ * Scheduling is a lock-free enqueue; the worker moves new tasks into wheel
+ * slots once per tick and runs the ones that are due, so thousands of pending
+ * timeouts cost one thread instead of one sleeping thread each.
+ * Deadlines follow a {@link NanoClock}; with a {@link ManualNanoClock} the wheel
+ * catches up within one real tick of every {@code advance}, so demos and tests
+ * never wait in real time.
+ */
+public final class TimerWheel {
+
+    private static final class Holder {
+        static final TimerWheel SHARED = new TimerWheel(NanoClock.system(), Duration.ofMillis(1), 512);
+    }
+
+    private static final class Task {
+        final long deadline;
+        final Runnable action;
+        long rounds;
+
+        Task(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+    }
+
+    private final NanoClock clock;
+    private final long tickNanos;
+    private final int mask;
+    private final long startTime;
+
+    // Slots are only touched by the worker thread
+    private final List<List<Task>> wheel;
+    private final ConcurrentLinkedQueue<Task> pending = new ConcurrentLinkedQueue<>();
+    private long tick;
+
+    public TimerWheel(Duration tickDuration, int wheelSize) {
+        this(NanoClock.system(), tickDuration, wheelSize);
+    }
+
+    public TimerWheel(NanoClock clock, Duration tickDuration, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.clock = clock;
+        this.tickNanos = Math.max(1, tickDuration.toNanos());
+        this.mask = wheelSize - 1;
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.startTime = clock.nanoTime();
+
+        Thread worker = new Thread(this::run, "timer-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Wheel shared by all rate limiters, ticking every millisecond.
+     */
+    public static TimerWheel shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Run {@code action} on the wheel thread once {@code delayNanos} have passed
+     * (rounded up to the next tick). Actions must be short and must not block.
+     */
+    public void schedule(Runnable action, long delayNanos) {
+        pending.add(new Task(clock.nanoTime() + Math.max(0, delayNanos), action));
+    }
+
+    private void run() {
+        while (true) {
+            long sleep = startTime + (tick + 1) * tickNanos - clock.nanoTime();
+            if (sleep > 0) {
+                // At most one real tick, in case the clock is moved by hand
+                LockSupport.parkNanos(Math.min(sleep, tickNanos));
+                continue;
+            }
+            transferPending();
+            expire(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Task task;
+        while ((task = pending.poll()) != null) {
+            // Tick t runs once the clock reaches the end of it, startTime + (t + 1) * tickNanos
+            long dueTick = Math.max(tick, (task.deadline - startTime + tickNanos - 1) / tickNanos - 1);
+            task.rounds = (dueTick - tick) / wheel.size();
+            wheel.get((int) (dueTick & mask)).add(task);
+        }
+    }
+
+    private void expire(List<Task> slot) {
+        int kept = 0;
+        for (int i = 0; i < slot.size(); i++) {
+            Task task = slot.get(i);
+            if (task.rounds > 0) {
+                task.rounds--;
+                slot.set(kept++, task);
+                continue;
+            }
+            try {
+                task.action.run();
+            } catch (RuntimeException e) {
+                // One failing action must not stop the wheel
+            }
+        }
+        slot.subList(kept, slot.size()).clear();
+    }
+}
@@ -0,0 +1,97 @@
+package com.shivam.interviewques;
+
+import java.time.Duration;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills
+ * {@code refillTokens} every {@code refillPeriod}, so short bursts up to the
+ * capacity pass while the long-run rate stays bounded.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final NanoClock clock;
+    // Guarded by this
+    private int capacity;
+    private double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Bucket of {@code maxRequests} tokens refilled at {@code maxRequests} per window.
+     */
+    public TokenBucketRateLimiter(RateLimiterConfig config, NanoClock clock) {
+        this(config.maxRequests(), config.maxRequests(), config.window(), clock);
+    }
+
+    public TokenBucketRateLimiter(int capacity, int refillTokens, Duration refillPeriod) {
+        this(capacity, refillTokens, refillPeriod, NanoClock.system());
+    }
+
+    public TokenBucketRateLimiter(int capacity, int refillTokens, Duration refillPeriod, NanoClock clock) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("capacity, refillTokens and refillPeriod must be positive");
+        }
+        this.clock = clock;
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriod.toNanos();
+        this.tokens = capacity;
+        this.lastRefill = clock.nanoTime();
+    }
+
+    @Override
+    public synchronized boolean tryConsume(int permits) {
+        RateLimiter.checkPermits(permits);
+        refill(clock.nanoTime());
+        if (tokens < permits) {
+            return false;
+        }
+        tokens -= permits;
+        return true;
+    }
+
+    @Override
+    public synchronized int tryConsumeUpTo(int max) {
+        RateLimiter.checkPermits(max);
+        refill(clock.nanoTime());
+        int granted = (int) Math.min(max, (long) tokens);
+        tokens -= granted;
+        return granted;
+    }
+
+    @Override
+    public synchronized void refund(int permits) {
+        RateLimiter.checkPermits(permits);
+        refill(clock.nanoTime());
+        tokens = Math.min(capacity, tokens + permits);
+    }
+
+    @Override
+    public synchronized long nanosUntilAvailable() {
+        refill(clock.nanoTime());
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    @Override
+    public synchronized long occupancy() {
+        refill(clock.nanoTime());
+        return capacity - (long) tokens;
+    }
+
+    /**
+     * Swap in new limits; tokens earned so far are kept, capped at the new capacity.
+     */
+    @Override
+    public synchronized void reconfigure(RateLimiterConfig config) {
+        refill(clock.nanoTime());
+        capacity = config.maxRequests();
+        tokensPerNano = (double) config.maxRequests() / config.window().toNanos();
+        tokens = Math.min(tokens, capacity);
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(200).toNanos();
+
+    @Test
+    void burstOfSlowReleasesBacksOffOnce() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.aimd(26, 1, 100, Duration.ofMillis(50));
+        assertThat(round(limiter, SLOW)).isEqualTo(26);
+        // 26 * 0.9, not 26 * 0.9^26
+        assertThat(limiter.getLimit()).isEqualTo(23);
+    }
+
+    @Test
+    void nextRoundBacksOffAgain() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.aimd(26, 1, 100, Duration.ofMillis(50));
+        round(limiter, SLOW);
+        round(limiter, SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(21); // 26 * 0.9 * 0.9
+    }
+
+    @Test
+    void fastRoundsGrowByAtMostOnePerRound() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.aimd(10, 1, 100, Duration.ofMillis(50));
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 10; i++) {
+            round(limiter, FAST);
+            int now = limiter.getLimit();
+            assertThat(now).isBetween(previous, previous + 1);
+            previous = now;
+        }
+        assertThat(previous).isGreaterThan(10);
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.aimd(2, 2, 3, Duration.ofMillis(50));
+        for (int i = 0; i < 5; i++) {
+            round(limiter, SLOW);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        for (int i = 0; i < 50; i++) {
+            round(limiter, FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    // Fill the limit, then release every call with the same latency
+    private static int round(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(latencyNanos);
+        }
+        return acquired;
+    }
+}
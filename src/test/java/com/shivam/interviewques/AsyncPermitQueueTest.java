@@ -0,0 +1,99 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncPermitQueueTest {
+
+    // Permits only appear when the test hands them out
+    private static final class ManualLimiter implements RateLimiter {
+        final AtomicInteger available = new AtomicInteger();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        @Override
+        public boolean tryConsume(int permits) {
+            attempts.incrementAndGet();
+            return available.getAndUpdate(n -> n >= permits ? n - permits : n) >= permits;
+        }
+
+        @Override
+        public int tryConsumeUpTo(int max) {
+            return tryConsume(1) ? 1 : 0;
+        }
+
+        @Override
+        public void reconfigure(RateLimiterConfig config) {
+        }
+
+        @Override
+        public void refund(int permits) {
+            available.addAndGet(permits);
+        }
+
+        @Override
+        public long nanosUntilAvailable() {
+            return TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    void waitersAreServedInOrderAndCancelledOnesSkipped() throws Exception {
+        ManualLimiter limiter = new ManualLimiter();
+        CompletableFuture<Void> first = limiter.acquireAsync(DIRECT);
+        CompletableFuture<Void> second = limiter.acquireAsync(DIRECT);
+        CompletableFuture<Void> third = limiter.acquireAsync(DIRECT);
+        second.cancel(false);
+
+        limiter.available.set(1);
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(third).isNotDone();
+
+        limiter.available.set(1);
+        third.get(5, TimeUnit.SECONDS);
+        assertThat(limiter.available.get()).isZero();
+    }
+
+    @Test
+    void cancelledAfterThePermitWasTakenGivesItBack() throws Exception {
+        ManualLimiter limiter = new ManualLimiter();
+        AtomicReference<CompletableFuture<Void>> future = new AtomicReference<>();
+        CompletableFuture<Void> executed = new CompletableFuture<>();
+        future.set(limiter.acquireAsync(task -> {
+            // The permit is already taken here; cancel before the completion runs
+            future.get().cancel(false);
+            task.run();
+            executed.complete(null);
+        }));
+        limiter.available.set(1);
+        executed.get(5, TimeUnit.SECONDS);
+        assertThat(future.get()).isCancelled();
+        assertThat(limiter.available.get()).isEqualTo(1);
+    }
+
+    @Test
+    void manyWaitersShareOneRetry() throws Exception {
+        ManualLimiter limiter = new ManualLimiter();
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            waiters.add(limiter.acquireAsync(DIRECT));
+        }
+        Thread.sleep(50);
+        // One head retrying each tick, not 100 waiters each re-arming
+        assertThat(limiter.attempts.get()).isLessThan(200);
+
+        limiter.available.set(100);
+        CompletableFuture.allOf(waiters.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(limiter.available.get()).isZero();
+    }
+}
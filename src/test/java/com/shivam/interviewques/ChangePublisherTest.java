@@ -0,0 +1,149 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangePublisherTest {
+
+    // Records every signal; requests initialDemand on subscribe
+    private static final class Recorder implements Flow.Subscriber<CellChanges> {
+        final List<CellChanges> batches = new ArrayList<>();
+        final long initialDemand;
+        Flow.Subscription subscription;
+        Throwable error;
+        RuntimeException failOnNext;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(CellChanges changes) {
+            batches.add(changes);
+            if (failOnNext != null) {
+                throw failOnNext;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @Test
+    void deliversOneBatchPerCycleForTheRangeOnly() {
+        ExcelSheet sheet = new ExcelSheet();
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        sheet.changes("A1:C3", Runnable::run).subscribe(recorder);
+
+        sheet.setCell("C1", "=A1+B1");
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("A1", "1");
+        values.put("B1", "2");
+        values.put("D5", "outside");
+        sheet.setCells(values);
+
+        assertThat(recorder.batches).hasSize(2);
+        assertThat(recorder.batches.get(1).values())
+                .containsOnlyKeys("A1", "B1", "C1")
+                .containsEntry("C1", "3");
+        assertThat(recorder.batches.get(1).cycle()).isGreaterThan(recorder.batches.get(0).cycle());
+    }
+
+    @Test
+    void coalescesCyclesWhileThereIsNoDemand() {
+        ExcelSheet sheet = new ExcelSheet();
+        Recorder recorder = new Recorder(0);
+        sheet.changes("A1:B1", Runnable::run).subscribe(recorder);
+
+        sheet.setCell("A1", "1");
+        sheet.setCell("B1", "=A1*10");
+        sheet.setCell("A1", "2");
+        sheet.setCell("A1", "3");
+        assertThat(recorder.batches).isEmpty();
+
+        recorder.subscription.request(5);
+        assertThat(recorder.batches).hasSize(1);
+        assertThat(recorder.batches.get(0).values())
+                .containsEntry("A1", "3")
+                .containsEntry("B1", "30")
+                .hasSize(2);
+
+        // The rest of the demand carries over to later cycles
+        sheet.setCell("A1", "4");
+        assertThat(recorder.batches).hasSize(2);
+        assertThat(recorder.batches.get(1).values()).containsEntry("A1", "4");
+    }
+
+    @Test
+    void cancelTakesThePublisherOffTheSheet() {
+        ExcelSheet sheet = new ExcelSheet();
+        ChangePublisher publisher = (ChangePublisher) sheet.changes("A1", Runnable::run);
+        Recorder first = new Recorder(Long.MAX_VALUE);
+        Recorder second = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        assertThat(publisher.getNumberOfSubscribers()).isEqualTo(2);
+
+        first.subscription.cancel();
+        sheet.setCell("A1", "1");
+        assertThat(first.batches).isEmpty();
+        assertThat(second.batches).hasSize(1);
+
+        second.subscription.cancel();
+        assertThat(publisher.getNumberOfSubscribers()).isZero();
+        sheet.setCell("A1", "2");
+        assertThat(second.batches).hasSize(1);
+    }
+
+    @Test
+    void nonPositiveRequestSignalsOnError() {
+        ExcelSheet sheet = new ExcelSheet();
+        ChangePublisher publisher = (ChangePublisher) sheet.changes("A1", Runnable::run);
+        Recorder recorder = new Recorder(0);
+        publisher.subscribe(recorder);
+
+        recorder.subscription.request(0);
+        assertThat(recorder.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(publisher.getNumberOfSubscribers()).isZero();
+    }
+
+    @Test
+    void throwingSubscriberIsDroppedWithOnError() {
+        ExcelSheet sheet = new ExcelSheet();
+        Recorder failing = new Recorder(Long.MAX_VALUE);
+        failing.failOnNext = new IllegalStateException("boom");
+        Recorder healthy = new Recorder(Long.MAX_VALUE);
+        Flow.Publisher<CellChanges> publisher = sheet.changes("A1", Runnable::run);
+        publisher.subscribe(failing);
+        publisher.subscribe(healthy);
+
+        sheet.setCell("A1", "1");
+        sheet.setCell("A1", "2");
+
+        assertThat(failing.batches).hasSize(1);
+        assertThat(failing.error).isSameAs(failing.failOnNext);
+        assertThat(healthy.batches).hasSize(2);
+        assertThat(healthy.error).isNull();
+    }
+}
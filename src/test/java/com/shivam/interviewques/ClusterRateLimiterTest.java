@@ -0,0 +1,70 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterRateLimiterTest {
+
+    private static final RateLimiterConfig CONFIG = RateLimiterConfig.of(10, Duration.ofSeconds(1));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void nodesShareOneQuota() {
+        ManualNanoClock clock = new ManualNanoClock();
+        QuotaStore store = new InMemoryQuotaStore();
+        ClusterRateLimiter a = new ClusterRateLimiter("api", CONFIG, store, 3, clock);
+        ClusterRateLimiter b = new ClusterRateLimiter("api", CONFIG, store, 3, clock);
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            granted += (a.tryConsume() ? 1 : 0) + (b.tryConsume() ? 1 : 0);
+        }
+        assertThat(granted).isEqualTo(10);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(a.tryConsume()).isTrue();
+    }
+
+    @Test
+    void occupancyCountsThisNodesPermits() {
+        ManualNanoClock clock = new ManualNanoClock();
+        ClusterRateLimiter limiter = new ClusterRateLimiter("api", CONFIG, new InMemoryQuotaStore(), 4, clock);
+        assertThat(limiter.occupancy()).isZero();
+        assertThat(limiter.tryConsume(3)).isTrue();
+        assertThat(limiter.occupancy()).isEqualTo(3);
+        assertThat(limiter.tryConsume(2)).isTrue();
+        assertThat(limiter.occupancy()).isEqualTo(5);
+        limiter.refund(2);
+        assertThat(limiter.occupancy()).isEqualTo(3);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(limiter.occupancy()).isZero();
+    }
+
+    @Test
+    void fileStoreKeepsNamesInsideItsDirectory() throws IOException {
+        Path quotas = dir.resolve("quotas");
+        FileQuotaStore store = new FileQuotaStore(quotas);
+        assertThat(store.lease("../escape", 0, 10, 4)).isEqualTo(4);
+        assertThat(store.lease("a/b\\c", 0, 10, 4)).isEqualTo(4);
+        assertThat(store.lease("../escape", 0, 10, 10)).isEqualTo(6);
+        assertThat(Files.exists(dir.resolve("escape.quota"))).isFalse();
+        try (Stream<Path> files = Files.list(quotas)) {
+            assertThat(files.map(p -> p.getFileName().toString()))
+                    .containsExactlyInAnyOrder("..%2Fescape.quota", "a%2Fb%5Cc.quota");
+        }
+        assertThatThrownBy(() -> store.lease("", 0, 10, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.lease("x".repeat(300), 0, 10, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
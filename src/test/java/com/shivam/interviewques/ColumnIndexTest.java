@@ -0,0 +1,110 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnIndexTest {
+
+    private static final int EMPTY = 0;
+    private static final int NUMBER = 1;
+    private static final int ERROR = 2;
+
+    @Test
+    void matchesABruteForceScanUnderRandomUpdates() {
+        Random random = new Random(18);
+        int rows = 1000;
+        int[] states = new int[rows];
+        double[] values = new double[rows];
+        ColumnIndex index = new ColumnIndex();
+        index.grow(rows);
+
+        for (int op = 0; op < 20_000; op++) {
+            int row = random.nextInt(rows);
+            int kind = random.nextInt(10);
+            if (kind < 7) {
+                // Integers, so sums are exact whatever the order of additions
+                values[row] = random.nextInt(2001) - 1000;
+                states[row] = NUMBER;
+                index.setNumber(row, values[row]);
+            } else if (kind < 9) {
+                states[row] = EMPTY;
+                index.setEmpty(row);
+            } else {
+                states[row] = ERROR;
+                index.setError(row);
+            }
+            if (op % 10 == 0) {
+                int first = random.nextInt(rows);
+                int last = first + random.nextInt(rows - first);
+                assertRange(index, states, values, first, last);
+            }
+        }
+        assertRange(index, states, values, 0, rows - 1);
+    }
+
+    @Test
+    void bulkLoadAndGrowthKeepQueriesExact() {
+        Random random = new Random(81);
+        ColumnIndex index = new ColumnIndex();
+        index.grow(100);
+        int[] states = new int[5000];
+        double[] values = new double[5000];
+
+        index.beginBulk();
+        for (int row = 0; row < 100; row++) {
+            values[row] = random.nextInt(100);
+            states[row] = NUMBER;
+            index.setNumber(row, values[row]);
+        }
+        index.endBulk();
+        assertRange(index, states, values, 0, 99);
+
+        // Growing keeps the rows already indexed; new rows start empty
+        int old = index.grow(5000);
+        assertThat(old).isLessThan(index.capacity());
+        assertThat(index.capacity()).isGreaterThanOrEqualTo(5000);
+        for (int row = 4000; row < 5000; row += 7) {
+            values[row] = -row;
+            states[row] = NUMBER;
+            index.setNumber(row, values[row]);
+        }
+        assertRange(index, states, values, 0, 4999);
+        assertRange(index, states, values, 50, 4500);
+    }
+
+    @Test
+    void emptyRangeHasNoMinOrMax() {
+        ColumnIndex index = new ColumnIndex();
+        index.grow(8);
+        assertThat(index.count(0, 7)).isZero();
+        assertThat(index.min(0, 7)).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(index.max(0, 7)).isEqualTo(Double.NEGATIVE_INFINITY);
+    }
+
+    private static void assertRange(ColumnIndex index, int[] states, double[] values, int first, int last) {
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        int errors = 0;
+        for (int row = first; row <= last; row++) {
+            if (states[row] == NUMBER) {
+                sum += values[row];
+                min = Math.min(min, values[row]);
+                max = Math.max(max, values[row]);
+                count++;
+            } else if (states[row] == ERROR) {
+                errors++;
+            }
+        }
+        String range = first + ".." + last;
+        assertThat(index.sum(first, last)).as("sum " + range).isEqualTo(sum);
+        assertThat(index.count(first, last)).as("count " + range).isEqualTo(count);
+        assertThat(index.errors(first, last)).as("errors " + range).isEqualTo(errors);
+        assertThat(index.min(first, last)).as("min " + range).isEqualTo(min);
+        assertThat(index.max(first, last)).as("max " + range).isEqualTo(max);
+    }
+}
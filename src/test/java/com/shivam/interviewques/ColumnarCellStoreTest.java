@@ -0,0 +1,126 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarCellStoreTest {
+
+    @Test
+    void addressesRoundTrip() {
+        for (String name : new String[]{"A1", "Z9", "AA10", "AZ100", "XFD1048576"}) {
+            assertThat(CellAddress.name(CellAddress.parse(name))).isEqualTo(name);
+        }
+        assertThat(CellAddress.parse("B12")).isEqualTo(CellAddress.pack(11, 1));
+        assertThat(CellAddress.isValid("A0")).isFalse();
+        assertThat(CellAddress.isValid("1A")).isFalse();
+    }
+
+    @Test
+    void storesEachKind() {
+        ColumnarCellStore store = new ColumnarCellStore();
+        long number = CellAddress.parse("A1");
+        long text = CellAddress.parse("A2");
+        long formula = CellAddress.parse("B5000");
+        store.setNumber(number, 2.5);
+        store.setText(text, CellStore.TEXT, "hello");
+        store.setText(formula, CellStore.FORMULA, "=A1*2");
+        store.setResult(formula, 5, null);
+
+        assertThat(store.kind(number)).isEqualTo(CellStore.NUMBER);
+        assertThat(store.get(number)).isEqualTo("2.5");
+        assertThat(store.text(text)).isEqualTo("hello");
+        assertThat(store.get(formula)).isEqualTo("=A1*2");
+        assertThat(store.display(formula)).isEqualTo("5");
+        assertThat(store.kind(CellAddress.parse("C3"))).isEqualTo(CellStore.EMPTY);
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.rows()).isEqualTo(5000);
+        assertThat(store.columns()).isEqualTo(2);
+
+        store.setResult(formula, 0, "#DIV/0!");
+        assertThat(store.display(formula)).isEqualTo("#DIV/0!");
+
+        store.clear(text);
+        store.clear(text);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get(text)).isEmpty();
+    }
+
+    @Test
+    void repeatedTextIsStoredOnce() {
+        ColumnarCellStore store = new ColumnarCellStore();
+        for (int row = 0; row < 1000; row++) {
+            store.setText(CellAddress.pack(row, 0), CellStore.TEXT, new String("same"));
+        }
+        assertThat(store.distinctStrings()).isEqualTo(1);
+        for (int row = 0; row < 1000; row++) {
+            store.clear(CellAddress.pack(row, 0));
+        }
+        assertThat(store.distinctStrings()).isZero();
+    }
+
+    @Test
+    void snapshotsDoNotSeeLaterWrites() {
+        ColumnarCellStore store = new ColumnarCellStore();
+        long a1 = CellAddress.parse("A1");
+        long a2 = CellAddress.parse("A2");
+        store.setNumber(a1, 1);
+        store.setText(a2, CellStore.TEXT, "before");
+        CellStore snapshot = store.snapshot();
+
+        store.setNumber(a1, 2);
+        store.setText(a2, CellStore.TEXT, "after");
+        store.setNumber(CellAddress.parse("C9000"), 3);
+
+        assertThat(snapshot.get(a1)).isEqualTo("1");
+        assertThat(snapshot.get(a2)).isEqualTo("before");
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(store.get(a1)).isEqualTo("2");
+        assertThat(store.get(a2)).isEqualTo("after");
+        assertThatThrownBy(() -> ((ColumnarCellStore) snapshot).setNumber(a1, 9))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void formulasAreListed() {
+        ColumnarCellStore store = new ColumnarCellStore();
+        store.setText(CellAddress.parse("A1"), CellStore.FORMULA, "=1");
+        store.setText(CellAddress.parse("C5000"), CellStore.FORMULA, "=2");
+        store.setText(CellAddress.parse("B2"), CellStore.TEXT, "not a formula");
+        List<String> formulas = new ArrayList<>();
+        store.forEachFormula(address -> formulas.add(CellAddress.name(address)));
+        assertThat(formulas).containsExactlyInAnyOrder("A1", "C5000");
+    }
+
+    @Test
+    void columnsStopAtXfd() {
+        assertThat(CellAddress.isValid("XFD1")).isTrue();
+        assertThat(CellAddress.isValid("XFE1")).isFalse();
+        assertThat(CellAddress.isValid("ZZZZZZ1")).isFalse();
+        assertThat(CellAddress.column("XFD1")).isEqualTo(CellAddress.MAX_COLUMNS - 1);
+    }
+
+    @Test
+    void farColumnIsRejectedWithoutAllocating() {
+        ExcelSheet sheet = new ExcelSheet();
+        assertThatThrownBy(() -> sheet.setCell("ZZZZZZ1", "x")).isInstanceOf(IllegalArgumentException.class);
+
+        ColumnarCellStore store = new ColumnarCellStore();
+        assertThatThrownBy(() -> store.setNumber(CellAddress.pack(0, Integer.MAX_VALUE), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.reserve(10, CellAddress.MAX_COLUMNS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void lastColumnIsWritable() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("XFD1", "7");
+        sheet.setCell("A1", "=XFD1*2");
+        assertThat(sheet.getCell("A1")).isEqualTo("14");
+    }
+}
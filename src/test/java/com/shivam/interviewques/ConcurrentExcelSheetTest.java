@@ -0,0 +1,101 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentExcelSheetTest {
+
+    @Test
+    void readersAlwaysSeeFormulasMatchingTheirInputs() throws InterruptedException {
+        ConcurrentExcelSheet excel = new ConcurrentExcelSheet();
+        for (int row = 1; row <= 100; row++) {
+            excel.setCell("A" + row, "0");
+        }
+        excel.setCell("C1", "=SUM(A1:A100)");
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong checks = new AtomicLong();
+        AtomicReference<String> mismatch = new AtomicReference<>();
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            writers[w] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2_000; i++) {
+                    excel.setCell("A" + (1 + random.nextInt(100)), Integer.toString(random.nextInt(1000)));
+                }
+            });
+        }
+        Thread[] readers = new Thread[2];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                while (writing.get()) {
+                    ConcurrentExcelSheet.Snapshot view = excel.snapshot();
+                    long sum = 0;
+                    for (int row = 1; row <= 100; row++) {
+                        sum += Long.parseLong(view.getCell("A" + row));
+                    }
+                    if (sum != Long.parseLong(view.getCell("C1"))) {
+                        mismatch.compareAndSet(null, "version " + view.version() + ": " + sum + " vs " + view.getCell("C1"));
+                    }
+                    checks.incrementAndGet();
+                }
+            });
+        }
+        for (Thread t : readers) {
+            t.start();
+        }
+        for (Thread t : writers) {
+            t.start();
+        }
+        for (Thread t : writers) {
+            t.join();
+        }
+        writing.set(false);
+        for (Thread t : readers) {
+            t.join();
+        }
+
+        assertThat(mismatch.get()).isNull();
+        assertThat(checks.get()).isPositive();
+        ConcurrentExcelSheet.Snapshot last = excel.snapshot();
+        long sum = 0;
+        for (int row = 1; row <= 100; row++) {
+            sum += Long.parseLong(last.getCell("A" + row));
+        }
+        assertThat(last.getCell("C1")).isEqualTo(Long.toString(sum));
+    }
+
+    @Test
+    void writesAreVisibleOnceSetCellReturns() {
+        ConcurrentExcelSheet excel = new ConcurrentExcelSheet();
+        excel.setCell("A1", "1");
+        excel.setCell("B1", "=A1*10");
+        assertThat(excel.getCell("B1")).isEqualTo("10");
+        excel.setCells(Map.of("A1", "2", "A2", "3"));
+        assertThat(excel.getCell("B1")).isEqualTo("20");
+        assertThat(excel.getCell("A2")).isEqualTo("3");
+    }
+
+    @Test
+    void snapshotsAreTakenLazilyAndNeverChange() {
+        ConcurrentExcelSheet excel = new ConcurrentExcelSheet();
+        excel.setCell("A1", "1");
+        ConcurrentExcelSheet.Snapshot first = excel.snapshot();
+        assertThat(excel.snapshot()).isSameAs(first);
+
+        for (int i = 2; i <= 50; i++) {
+            excel.setCell("A1", Integer.toString(i));
+        }
+        ConcurrentExcelSheet.Snapshot latest = excel.snapshot();
+        assertThat(latest.version()).isEqualTo(first.version() + 49);
+        assertThat(latest.getCell("A1")).isEqualTo("50");
+        assertThat(first.getCell("A1")).isEqualTo("1");
+    }
+}
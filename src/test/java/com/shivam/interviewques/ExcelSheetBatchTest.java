@@ -0,0 +1,130 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExcelSheetBatchTest {
+
+    @Test
+    void setCellsRecalculatesOnce() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("B1", "=SUM(A1:A100)");
+        List<CellChanges> batches = new ArrayList<>();
+        sheet.changes("B1", Runnable::run).subscribe(new Flow.Subscriber<CellChanges>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(CellChanges changes) {
+                batches.add(changes);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int row = 1; row <= 100; row++) {
+            values.put("A" + row, Integer.toString(row));
+        }
+        sheet.setCells(values);
+
+        assertThat(sheet.getCell("B1")).isEqualTo("5050");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).values()).containsEntry("B1", "5050");
+    }
+
+    @Test
+    void setCellsChecksEveryAddressBeforeWriting() {
+        ExcelSheet sheet = new ExcelSheet();
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("A1", "1");
+        values.put("not a cell", "2");
+
+        assertThatThrownBy(() -> sheet.setCells(values)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(sheet.getCell("A1")).isEmpty();
+        assertThat(sheet.size()).isZero();
+    }
+
+    @Test
+    void batchDefersRecalculationUntilCommit() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "1");
+        sheet.setCell("C1", "=A1+B1");
+
+        sheet.beginBatch();
+        sheet.setCell("A1", "10");
+        sheet.setCell("B1", "5");
+        assertThat(sheet.getCell("A1")).isEqualTo("10");
+        assertThat(sheet.getCell("C1")).isEqualTo("1");
+
+        sheet.commit();
+        assertThat(sheet.getCell("C1")).isEqualTo("15");
+    }
+
+    @Test
+    void rollbackRestoresValuesAndIndexedSums() {
+        ExcelSheet sheet = new ExcelSheet();
+        int rows = 5000;
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int row = 1; row <= rows; row++) {
+            values.put("A" + row, "1");
+        }
+        sheet.setCells(values);
+        sheet.setCell("B1", "=SUM(A1:A" + rows + ")");
+        sheet.setCell("C1", "=A1*2");
+        assertThat(sheet.getCell("B1")).isEqualTo(Integer.toString(rows));
+        long size = sheet.size();
+
+        sheet.beginBatch(rows);
+        for (int row = 1; row <= rows; row += 2) {
+            sheet.setCell("A" + row, "100");
+        }
+        // Written twice in the batch: rollback still restores the value before it
+        sheet.setCell("A1", "7");
+        sheet.setCell("C1", "text now");
+        sheet.setCell("D9", "new cell");
+        sheet.rollback();
+
+        assertThat(sheet.getCell("A1")).isEqualTo("1");
+        assertThat(sheet.getCell("A3")).isEqualTo("1");
+        assertThat(sheet.getFormula("C1")).isEqualTo("=A1*2");
+        assertThat(sheet.getCell("C1")).isEqualTo("2");
+        assertThat(sheet.getCell("D9")).isEmpty();
+        assertThat(sheet.getCell("B1")).isEqualTo(Integer.toString(rows));
+        assertThat(sheet.size()).isEqualTo(size);
+
+        // The column index is usable again after the rollback
+        sheet.setCell("A2", "11");
+        assertThat(sheet.getCell("B1")).isEqualTo(Integer.toString(rows + 10));
+    }
+
+    @Test
+    void batchesDoNotNest() {
+        ExcelSheet sheet = new ExcelSheet();
+        assertThatThrownBy(sheet::commit).isInstanceOf(IllegalStateException.class);
+        // No open batch: a rollback in a finally block is harmless
+        sheet.rollback();
+
+        sheet.beginBatch();
+        assertThatThrownBy(sheet::beginBatch).isInstanceOf(IllegalStateException.class);
+        sheet.setCell("A1", "1");
+        sheet.commit();
+        assertThat(sheet.getCell("A1")).isEqualTo("1");
+    }
+}
@@ -0,0 +1,126 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcelSheetTest {
+
+    @Test
+    void formulasRecalculateWhenInputsChange() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "100");
+        sheet.setCell("B1", "200");
+        sheet.setCell("C1", "=A1+B1*2");
+        sheet.setCell("D1", "=SUM(A1:C1)");
+        assertThat(sheet.getCell("C1")).isEqualTo("500");
+        assertThat(sheet.getCell("D1")).isEqualTo("800");
+        assertThat(sheet.getFormula("C1")).isEqualTo("=A1+B1*2");
+
+        sheet.setCell("A1", "1");
+        assertThat(sheet.getCell("C1")).isEqualTo("401");
+        assertThat(sheet.getCell("D1")).isEqualTo("602");
+
+        sheet.setCell("C1", "7");
+        assertThat(sheet.getCell("D1")).isEqualTo("208");
+    }
+
+    @Test
+    void errorsPropagateToDependents() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "1");
+        sheet.setCell("B1", "=A1/0");
+        sheet.setCell("C1", "=B1+1");
+        assertThat(sheet.getCell("B1")).isEqualTo("#DIV/0!");
+        assertThat(sheet.getCell("C1")).isEqualTo("#DIV/0!");
+
+        sheet.setCell("B1", "=A1/2");
+        assertThat(sheet.getCell("C1")).isEqualTo("1.5");
+    }
+
+    @Test
+    void cyclesAreReportedAndRecoverWhenBroken() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "5");
+        sheet.setCell("B1", "=A1*2");
+        sheet.setCell("C1", "=B1+1");
+        sheet.setCell("A1", "=C1");
+        assertThat(sheet.getCell("A1")).isEqualTo("#CYCLE!");
+        assertThat(sheet.getCell("B1")).isEqualTo("#CYCLE!");
+        assertThat(sheet.getCell("C1")).isEqualTo("#CYCLE!");
+
+        sheet.setCell("A1", "3");
+        assertThat(sheet.getCell("B1")).isEqualTo("6");
+        assertThat(sheet.getCell("C1")).isEqualTo("7");
+    }
+
+    @Test
+    void selfReferenceIsACycle() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "=A1+1");
+        assertThat(sheet.getCell("A1")).isEqualTo("#CYCLE!");
+    }
+
+    @Test
+    void formulasMatchARecomputationFromScratch() {
+        ExcelSheet incremental = new ExcelSheet();
+        for (int row = 1; row <= 20; row++) {
+            incremental.setCell("A" + row, Integer.toString(row));
+            incremental.setCell("B" + row, row == 1 ? "=A1" : "=B" + (row - 1) + "+A" + row);
+        }
+        incremental.setCell("C1", "=SUM(B1:B20)");
+        for (int row = 1; row <= 20; row += 3) {
+            incremental.setCell("A" + row, Integer.toString(row * 10));
+        }
+        long expected = 0;
+        long running = 0;
+        for (int row = 1; row <= 20; row++) {
+            running += (row - 1) % 3 == 0 ? row * 10L : row;
+            expected += running;
+            assertThat(incremental.getCell("B" + row)).isEqualTo(Long.toString(running));
+        }
+        assertThat(incremental.getCell("C1")).isEqualTo(Long.toString(expected));
+    }
+
+    @Test
+    void textInsideRangesIsSkipped() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "10");
+        sheet.setCell("A2", "label");
+        sheet.setCell("A3", "30");
+        sheet.setCell("B1", "=SUM(A1:A3)");
+        sheet.setCell("B2", "=COUNT(A1:A3)");
+        sheet.setCell("B3", "=AVERAGE(A1:A3)");
+        sheet.setCell("B4", "=MIN(A1:A3)");
+        sheet.setCell("B5", "=MAX(A1:A3)");
+        assertThat(sheet.getCell("B1")).isEqualTo("40");
+        assertThat(sheet.getCell("B2")).isEqualTo("2");
+        assertThat(sheet.getCell("B3")).isEqualTo("20");
+        assertThat(sheet.getCell("B4")).isEqualTo("10");
+        assertThat(sheet.getCell("B5")).isEqualTo("30");
+    }
+
+    @Test
+    void textInsideIndexedRangesIsSkipped() {
+        ExcelSheet sheet = new ExcelSheet();
+        for (int row = 1; row <= 200; row++) {
+            sheet.setCell("A" + row, row % 10 == 0 ? "n/a" : "1");
+        }
+        sheet.setCell("B1", "=SUM(A1:A200)");
+        sheet.setCell("B2", "=COUNT(A1:A200)");
+        assertThat(sheet.getCell("B1")).isEqualTo("180");
+        assertThat(sheet.getCell("B2")).isEqualTo("180");
+
+        sheet.setCell("A10", "5");
+        assertThat(sheet.getCell("B1")).isEqualTo("185");
+        assertThat(sheet.getCell("B2")).isEqualTo("181");
+    }
+
+    @Test
+    void directReferenceToTextIsValueError() {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "label");
+        sheet.setCell("B1", "=A1+1");
+        assertThat(sheet.getCell("B1")).isEqualTo("#VALUE!");
+    }
+}
@@ -0,0 +1,68 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalRateLimiterTest {
+
+    private final ManualNanoClock clock = new ManualNanoClock();
+    private RateLimiter global;
+    private KeyedRateLimiter tenants;
+    private KeyedRateLimiter endpoints;
+    private HierarchicalRateLimiter quotas;
+
+    // Global 10, per tenant 5, per endpoint 3, all per second
+    @BeforeEach
+    void setUp() {
+        global = RateLimiter.create(RateLimiter.Algorithm.GCRA, RateLimiterConfig.of(10, Duration.ofSeconds(1)), clock);
+        tenants = new KeyedRateLimiter(RateLimiterConfig.of(5, Duration.ofSeconds(1)), Duration.ofSeconds(5), 16, clock);
+        endpoints = new KeyedRateLimiter(RateLimiterConfig.of(3, Duration.ofSeconds(1)), Duration.ofSeconds(5), 16, clock);
+        quotas = new HierarchicalRateLimiter(global, tenants, endpoints);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenants.close();
+        endpoints.close();
+    }
+
+    @Test
+    void endpointRejectionRefundsTenantAndGlobal() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(quotas.tryConsume("tenant-a", "/orders")).isTrue();
+        }
+        assertThat(quotas.tryConsume("tenant-a", "/orders")).isFalse();
+        assertThat(global.occupancy()).isEqualTo(3);
+        assertThat(tenants.remaining("tenant-a")).isEqualTo(2);
+
+        // The rejected request left the tenant its last 2 permits
+        assertThat(quotas.tryConsume("tenant-a", "/search")).isTrue();
+        assertThat(quotas.tryConsume("tenant-a", "/search")).isTrue();
+        assertThat(quotas.tryConsume("tenant-a", "/search")).isFalse();
+        assertThat(global.occupancy()).isEqualTo(5);
+    }
+
+    @Test
+    void tenantRejectionRefundsGlobal() {
+        assertThat(quotas.tryConsume("tenant-a", "/a", 3)).isTrue();
+        assertThat(quotas.tryConsume("tenant-a", "/b", 3)).isFalse();
+        assertThat(global.occupancy()).isEqualTo(3);
+        assertThat(endpoints.remaining("/b")).isEqualTo(3);
+    }
+
+    @Test
+    void globalRejectionTouchesNoLowerLevel() {
+        assertThat(quotas.tryConsume("tenant-a", "/a", 3)).isTrue();
+        assertThat(quotas.tryConsume("tenant-b", "/b", 3)).isTrue();
+        assertThat(quotas.tryConsume("tenant-c", "/c", 3)).isTrue();
+        assertThat(quotas.tryConsume("tenant-d", "/d", 3)).isFalse();
+        assertThat(tenants.remaining("tenant-d")).isEqualTo(5);
+        assertThat(endpoints.remaining("/d")).isEqualTo(3);
+        assertThat(global.occupancy()).isEqualTo(9);
+    }
+}
@@ -0,0 +1,68 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedRateLimiterTest {
+
+    private static final RateLimiterConfig THREE_PER_SECOND = RateLimiterConfig.of(3, Duration.ofSeconds(1));
+
+    @Test
+    void keysHaveIndependentWindows() {
+        ManualNanoClock clock = new ManualNanoClock();
+        try (KeyedRateLimiter limiter = new KeyedRateLimiter(THREE_PER_SECOND, Duration.ofSeconds(10), 16, clock)) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(limiter.tryConsume("alice")).isTrue();
+            }
+            assertThat(limiter.tryConsume("alice")).isFalse();
+            assertThat(limiter.remaining("alice")).isZero();
+            assertThat(limiter.nanosUntilAvailable("alice")).isPositive();
+
+            assertThat(limiter.tryConsume("bob")).isTrue();
+            assertThat(limiter.remaining("bob")).isEqualTo(2);
+
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(limiter.tryConsume("alice")).isTrue();
+        }
+    }
+
+    @Test
+    void queriesDoNotCreateKeys() {
+        try (KeyedRateLimiter limiter = new KeyedRateLimiter(THREE_PER_SECOND, Duration.ofSeconds(10), 16,
+                new ManualNanoClock())) {
+            assertThat(limiter.remaining("nobody")).isEqualTo(3);
+            assertThat(limiter.nanosUntilAvailable("nobody")).isZero();
+            limiter.refund("nobody", 1);
+            assertThat(limiter.size()).isZero();
+        }
+    }
+
+    @Test
+    void idleKeysAreEvicted() {
+        ManualNanoClock clock = new ManualNanoClock();
+        try (KeyedRateLimiter limiter = new KeyedRateLimiter(THREE_PER_SECOND, Duration.ofSeconds(10), 16, clock)) {
+            limiter.tryConsume("old");
+            clock.advance(Duration.ofSeconds(9));
+            limiter.tryConsume("recent");
+            clock.advance(Duration.ofSeconds(2));
+            limiter.evictIdle();
+            assertThat(limiter.size()).isEqualTo(1);
+            assertThat(limiter.remaining("recent")).isEqualTo(3);
+            assertThat(limiter.counters()).containsOnlyKeys("recent");
+        }
+    }
+
+    @Test
+    void batchAndRefundPerKey() {
+        try (KeyedRateLimiter limiter = new KeyedRateLimiter(THREE_PER_SECOND, Duration.ofSeconds(10), 16,
+                new ManualNanoClock())) {
+            assertThat(limiter.tryConsume("k", 2)).isTrue();
+            assertThat(limiter.tryConsume("k", 2)).isFalse();
+            limiter.refund("k", 2);
+            assertThat(limiter.tryConsume("k", 3)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCellStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void evictedRegionsKeepTheirCells() throws IOException {
+        Path file = dir.resolve("sheet.bin");
+        // One page per column, so 300 columns span two regions with only one mapped at a time
+        int columns = MappedCellStore.PAGES_PER_REGION + 44;
+        try (MappedCellStore store = new MappedCellStore(file, 1)) {
+            for (int c = 0; c < columns; c++) {
+                store.setNumber(CellAddress.pack(7, c), c);
+                store.setText(CellAddress.pack(8, c), CellStore.TEXT, "t" + c);
+            }
+            assertThat(store.mappedRegions()).isEqualTo(1);
+            assertThat(store.number(CellAddress.pack(7, 1))).isEqualTo(1);
+        }
+        try (MappedCellStore reopened = new MappedCellStore(file, 1)) {
+            assertThat(reopened.size()).isEqualTo(2L * columns);
+            for (int c = 0; c < columns; c++) {
+                assertThat(reopened.number(CellAddress.pack(7, c))).isEqualTo(c);
+                assertThat(reopened.text(CellAddress.pack(8, c))).isEqualTo("t" + c);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MutableNumArrayTest {
+
+    @ParameterizedTest
+    @EnumSource(MutableNumArray.Backend.class)
+    void updatesAndRangeSums(MutableNumArray.Backend backend) {
+        MutableNumArray array = new MutableNumArray(new int[]{1, 2, 3, 4, 5}, backend);
+        assertThat(array.sumRange(0, 2)).isEqualTo(6);
+        array.update(1, 10);
+        assertThat(array.sumRange(0, 2)).isEqualTo(14);
+        assertThat(array.get(1)).isEqualTo(10);
+        assertThat(array.size()).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @EnumSource(MutableNumArray.Backend.class)
+    void sumsDoNotOverflowInt(MutableNumArray.Backend backend) {
+        MutableNumArray array = new MutableNumArray(new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE, 0}, backend);
+        array.update(2, Integer.MAX_VALUE);
+        assertThat(array.sumRange(0, 2)).isEqualTo(3L * Integer.MAX_VALUE);
+        array.update(0, Integer.MIN_VALUE);
+        assertThat(array.get(0)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(array.sumRange(0, 0)).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @ParameterizedTest
+    @EnumSource(MutableNumArray.Backend.class)
+    void matchesAPlainArrayUnderRandomOperations(MutableNumArray.Backend backend) {
+        Random random = new Random(42);
+        // Not a power of two, so the segment tree's uneven leaves are covered too
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+        MutableNumArray array = new MutableNumArray(values, backend);
+        for (int op = 0; op < 20_000; op++) {
+            int i = random.nextInt(values.length);
+            if (random.nextBoolean()) {
+                values[i] = random.nextInt();
+                array.update(i, values[i]);
+            } else {
+                int j = i + random.nextInt(values.length - i);
+                long expected = 0;
+                for (int k = i; k <= j; k++) {
+                    expected += values[k];
+                }
+                assertThat(array.sumRange(i, j)).as("sum %d..%d", i, j).isEqualTo(expected);
+            }
+        }
+        for (int i = 0; i < values.length; i++) {
+            assertThat(array.get(i)).isEqualTo(values[i]);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(MutableNumArray.Backend.class)
+    void rejectsIndexesOutOfBounds(MutableNumArray.Backend backend) {
+        MutableNumArray array = new MutableNumArray(new int[]{1, 2, 3}, backend);
+        assertThatThrownBy(() -> array.update(3, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> array.sumRange(1, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> array.sumRange(2, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> array.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumArrayTest {
+
+    @Test
+    void sumsRangesWithoutIntOverflow() {
+        NumArray array = new NumArray(new int[]{1, 2, 3, 4, 5});
+        assertThat(array.sumRange(0, 2)).isEqualTo(6);
+        assertThat(array.sumRange(4, 4)).isEqualTo(5);
+
+        int[] big = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        assertThat(new NumArray(big).sumRange(0, 2)).isEqualTo(3L * Integer.MAX_VALUE);
+    }
+
+    @Test
+    void parallelBuildMatchesTheSequentialLoop() {
+        // Above the threshold and not a multiple of the chunk count, so chunk edges are uneven
+        int[] nums = new int[NumArray.PARALLEL_THRESHOLD + 12_345];
+        Random random = new Random(25);
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = random.nextInt();
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long[] sequential = new NumArray(nums, single).preFixSum;
+            long[] parallel = new NumArray(nums, pool).preFixSum;
+            assertThat(parallel).isEqualTo(sequential);
+            assertThat(parallel[nums.length]).isEqualTo(sumOf(nums));
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    private static long sumOf(int[] nums) {
+        long sum = 0;
+        for (int num : nums) {
+            sum += num;
+        }
+        return sum;
+    }
+}
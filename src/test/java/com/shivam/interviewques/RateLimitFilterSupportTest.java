@@ -0,0 +1,47 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterSupportTest {
+
+    private static final RateLimiterConfig CONFIG = RateLimiterConfig.of(2, Duration.ofSeconds(1));
+
+    @Test
+    void defaultKeyIsTheRemoteAddress() {
+        try (KeyedRateLimiter limiter = new KeyedRateLimiter(CONFIG, Duration.ofMinutes(1))) {
+            RateLimitFilterSupport support = new RateLimitFilterSupport(limiter, "X-Api-Key",
+                    RateLimitKeyResolver.remoteAddress(), 1);
+            assertThat(support.resolveKey("made-up", "10.0.0.1")).isEqualTo("10.0.0.1");
+            assertThat(support.resolveKey("made-up", new InetSocketAddress("10.0.0.2", 443))).isEqualTo("10.0.0.2");
+            assertThat(support.resolveKey(null, (InetSocketAddress) null)).isEqualTo("unknown");
+        }
+    }
+
+    @Test
+    void trustedHeaderIsCappedInLength() {
+        RateLimitKeyResolver resolver = RateLimitKeyResolver.trustedHeader(8);
+        assertThat(resolver.resolve("tenant-1", "10.0.0.1")).isEqualTo("tenant-1");
+        assertThat(resolver.resolve("tenant-1-and-more", "10.0.0.1")).isEqualTo("10.0.0.1");
+        assertThat(resolver.resolve("", "10.0.0.1")).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void keysBeyondTheCapShareOneWindow() {
+        ManualNanoClock clock = new ManualNanoClock();
+        try (KeyedRateLimiter limiter = new KeyedRateLimiter(CONFIG, Duration.ofMinutes(1), 16, 2, clock)) {
+            assertThat(limiter.tryConsume("a")).isTrue();
+            assertThat(limiter.tryConsume("b")).isTrue();
+            assertThat(limiter.tryConsume("c")).isTrue();
+            assertThat(limiter.tryConsume("d")).isTrue();
+            assertThat(limiter.tryConsume("e")).isFalse();
+            assertThat(limiter.remaining("f")).isZero();
+            assertThat(limiter.size()).isEqualTo(2);
+            assertThat(limiter.tryConsume("a")).isTrue();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterBatchTest {
+
+    private static RateLimiter fivePerSecond(RateLimiter.Algorithm algorithm) {
+        return RateLimiter.create(algorithm, RateLimiterConfig.of(5, Duration.ofSeconds(1)), new ManualNanoClock());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimiter.Algorithm.class)
+    void batchesAreAllOrNothing(RateLimiter.Algorithm algorithm) {
+        RateLimiter limiter = fivePerSecond(algorithm);
+        assertThat(limiter.tryConsume(3)).isTrue();
+        assertThat(limiter.tryConsume(3)).isFalse();
+        // The rejected batch took nothing
+        assertThat(limiter.tryConsume(2)).isTrue();
+        assertThat(limiter.tryConsume()).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimiter.Algorithm.class)
+    void batchLargerThanTheLimitIsRejected(RateLimiter.Algorithm algorithm) {
+        RateLimiter limiter = fivePerSecond(algorithm);
+        assertThat(limiter.tryConsume(6)).isFalse();
+        assertThat(limiter.tryConsume(5)).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimiter.Algorithm.class)
+    void upToGrantsWhatIsFree(RateLimiter.Algorithm algorithm) {
+        RateLimiter limiter = fivePerSecond(algorithm);
+        assertThat(limiter.tryConsumeUpTo(3)).isEqualTo(3);
+        assertThat(limiter.tryConsumeUpTo(3)).isEqualTo(2);
+        assertThat(limiter.tryConsumeUpTo(3)).isZero();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimiter.Algorithm.class)
+    void permitsMustBePositive(RateLimiter.Algorithm algorithm) {
+        RateLimiter limiter = fivePerSecond(algorithm);
+        assertThatThrownBy(() -> limiter.tryConsume(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter.tryConsumeUpTo(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter.refund(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
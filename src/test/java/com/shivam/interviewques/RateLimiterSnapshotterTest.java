@@ -0,0 +1,74 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterSnapshotterTest {
+
+    // A long window, so the wall-clock time the test takes barely ages the snapshot
+    private static final RateLimiterConfig THREE_PER_MINUTE = RateLimiterConfig.of(3, Duration.ofMinutes(1));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restartedLimiterResumesItsClientsWindows() throws IOException {
+        Path file = dir.resolve("limiter.snapshot");
+        try (KeyedRateLimiter before = new KeyedRateLimiter(THREE_PER_MINUTE, Duration.ofMinutes(5), 16,
+                new ManualNanoClock())) {
+            for (int i = 0; i < 3; i++) {
+                before.tryConsume("alice");
+            }
+            before.tryConsume("bob");
+            before.tryConsume("dave", 2);
+            assertThat(new RateLimiterSnapshotter(before, file).write()).isEqualTo(3);
+        }
+
+        try (KeyedRateLimiter after = new KeyedRateLimiter(THREE_PER_MINUTE, Duration.ofMinutes(5), 16,
+                new ManualNanoClock())) {
+            RateLimiterSnapshotter snapshotter = new RateLimiterSnapshotter(after, file);
+            assertThat(snapshotter.restore()).isEqualTo(3);
+
+            assertThat(after.tryConsume("alice")).isFalse();
+            assertThat(after.tryConsume("bob", 2)).isTrue();
+            assertThat(after.tryConsume("bob")).isFalse();
+            assertThat(after.tryConsume("carol", 3)).isTrue();
+
+            // dave was never asked for since the restart, but the next snapshot still carries him
+            assertThat(snapshotter.write()).isEqualTo(4);
+            assertThat(after.tryConsume("dave")).isTrue();
+            assertThat(after.tryConsume("dave")).isFalse();
+        }
+    }
+
+    @Test
+    void snapshotOfAnotherWindowIsIgnored() throws IOException {
+        Path file = dir.resolve("limiter.snapshot");
+        try (KeyedRateLimiter before = new KeyedRateLimiter(THREE_PER_MINUTE, Duration.ofMinutes(5), 16,
+                new ManualNanoClock())) {
+            before.tryConsume("alice", 3);
+            new RateLimiterSnapshotter(before, file).write();
+        }
+
+        RateLimiterConfig perSecond = RateLimiterConfig.of(3, Duration.ofSeconds(1));
+        try (KeyedRateLimiter after = new KeyedRateLimiter(perSecond, Duration.ofMinutes(5), 16,
+                new ManualNanoClock())) {
+            assertThat(new RateLimiterSnapshotter(after, file).restore()).isZero();
+            assertThat(after.tryConsume("alice")).isTrue();
+        }
+    }
+
+    @Test
+    void missingSnapshotRestoresNothing() throws IOException {
+        try (KeyedRateLimiter limiter = new KeyedRateLimiter(THREE_PER_MINUTE, Duration.ofMinutes(5), 16,
+                new ManualNanoClock())) {
+            assertThat(new RateLimiterSnapshotter(limiter, dir.resolve("none")).restore()).isZero();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecalculationSchedulerTest {
+
+    private static final int ROWS = 300;
+
+    @Test
+    void parallelRecalculationMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Threshold 1: every level with more than one formula is split across workers
+            ExcelSheet parallel = new ExcelSheet(new ColumnarCellStore(), new RecalculationScheduler(pool, 1));
+            ExcelSheet sequential = new ExcelSheet(new ColumnarCellStore(), RecalculationScheduler.sequential());
+            build(parallel);
+            build(sequential);
+            assertSame(parallel, sequential);
+
+            Random random = new Random(17);
+            for (int i = 0; i < 50; i++) {
+                String cell = "A" + (1 + random.nextInt(ROWS));
+                String value = random.nextInt(10) == 0 ? "oops" : Integer.toString(random.nextInt(1000));
+                parallel.setCell(cell, value);
+                sequential.setCell(cell, value);
+            }
+            assertSame(parallel, sequential);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Four dependency levels per row, plus range formulas over whole columns and a cycle
+    private static void build(ExcelSheet sheet) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int row = 1; row <= ROWS; row++) {
+            values.put("A" + row, Integer.toString(row));
+            values.put("B" + row, "=A" + row + "*2");
+            values.put("C" + row, "=B" + row + "+A" + row);
+            values.put("D" + row, "=C" + row + "-B" + Math.max(1, row - 1));
+        }
+        values.put("E1", "=SUM(D1:D" + ROWS + ")");
+        values.put("E2", "=MAX(C1:C" + ROWS + ")+E1");
+        values.put("F1", "=F2+1");
+        values.put("F2", "=F1+1");
+        sheet.setCells(values);
+    }
+
+    private static void assertSame(ExcelSheet actual, ExcelSheet expected) {
+        for (int row = 1; row <= ROWS; row++) {
+            for (String column : new String[]{"B", "C", "D", "E", "F"}) {
+                String cell = column + row;
+                assertThat(actual.getCell(cell)).as(cell).isEqualTo(expected.getCell(cell));
+            }
+        }
+        assertThat(actual.getCell("F1")).isEqualTo("#CYCLE!");
+    }
+}
@@ -0,0 +1,92 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SheetCsvTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsQuotedFieldsAndNumbers() throws IOException {
+        Path in = dir.resolve("in.csv");
+        Files.writeString(in, "1,042,\"a, \"\"b\"\"\"\r\n"
+                + ",x,\"multi\nline\"\n"
+                + "-7,\"12\",café\n", StandardCharsets.UTF_8);
+
+        ExcelSheet sheet = new ExcelSheet();
+        assertThat(SheetCsv.read(in, sheet)).isEqualTo(8);
+
+        assertThat(sheet.getCell("A1")).isEqualTo("1");
+        // Not canonical integers, so kept as text exactly as written
+        assertThat(sheet.getCell("B1")).isEqualTo("042");
+        assertThat(sheet.getCell("C1")).isEqualTo("a, \"b\"");
+        assertThat(sheet.getCell("A2")).isEmpty();
+        assertThat(sheet.getCell("B2")).isEqualTo("x");
+        assertThat(sheet.getCell("C2")).isEqualTo("multi\nline");
+        assertThat(sheet.getCell("A3")).isEqualTo("-7");
+        assertThat(sheet.getCell("B3")).isEqualTo("12");
+        assertThat(sheet.getCell("C3")).isEqualTo("café");
+    }
+
+    @Test
+    void writeThenReadRoundTrips() throws IOException {
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("A1", "10");
+        sheet.setCell("B1", "2.5");
+        sheet.setCell("C1", "=A1+B1");
+        sheet.setCell("A2", "say \"hi\", then leave");
+        sheet.setCell("C2", "ünïcode");
+        sheet.setCell("B3", "-3");
+
+        Path out = dir.resolve("out.csv");
+        assertThat(SheetCsv.write(sheet, out)).isEqualTo(3);
+        assertThat(Files.readString(out, StandardCharsets.UTF_8)).isEqualTo("10,2.5,12.5\n"
+                + "\"say \"\"hi\"\", then leave\",,ünïcode\n"
+                + ",-3,\n");
+
+        ExcelSheet copy = new ExcelSheet();
+        SheetCsv.read(out, copy);
+        for (String cell : new String[]{"A1", "B1", "C1", "A2", "B2", "C2", "A3", "B3", "C3"}) {
+            assertThat(copy.getCell(cell)).as(cell).isEqualTo(sheet.getCell(cell));
+        }
+        // Formulas are exported as their results
+        assertThat(copy.getFormula("C1")).isEqualTo("12.5");
+
+        Path again = dir.resolve("again.csv");
+        SheetCsv.write(copy, again);
+        assertThat(Files.readString(again, StandardCharsets.UTF_8))
+                .isEqualTo(Files.readString(out, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fieldsSpanningBufferRefillsAreParsedWhole() throws IOException {
+        // Enough rows that quoted fields straddle the end of the read buffer
+        int rows = SheetCsv.BUFFER_SIZE / 8;
+        StringBuilder csv = new StringBuilder();
+        for (int row = 1; row <= rows; row++) {
+            csv.append(row).append(",\"n, ").append(row % 97).append("\"\n");
+        }
+        Path in = dir.resolve("big.csv");
+        Files.writeString(in, csv, StandardCharsets.US_ASCII);
+        assertThat(Files.size(in)).isGreaterThan(SheetCsv.BUFFER_SIZE);
+
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setCell("C1", "=SUM(A1:A" + rows + ")");
+        assertThat(SheetCsv.read(in, sheet)).isEqualTo(2L * rows);
+        for (int row = 1; row <= rows; row += 997) {
+            assertThat(sheet.getCell("A" + row)).isEqualTo(Integer.toString(row));
+            assertThat(sheet.getCell("B" + row)).isEqualTo("n, " + row % 97);
+        }
+        // Formulas are recalculated once the load is in
+        assertThat(sheet.getCell("C1")).isEqualTo(Long.toString((long) rows * (rows + 1) / 2));
+    }
+}
@@ -0,0 +1,85 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterServiceTest {
+
+    private static final RateLimiterConfig FIVE_PER_TEN_SECONDS = RateLimiterConfig.of(5, Duration.ofSeconds(10));
+
+    @ParameterizedTest
+    @EnumSource(SlidingWindowRateLimiterService.Mode.class)
+    void allowsTheLimitPerWindow(SlidingWindowRateLimiterService.Mode mode) {
+        ManualNanoClock clock = new ManualNanoClock();
+        SlidingWindowRateLimiterService limiter = new SlidingWindowRateLimiterService(mode, FIVE_PER_TEN_SECONDS, clock);
+        assertThat(consume(limiter, 10)).isEqualTo(5);
+        assertThat(limiter.occupancy()).isEqualTo(5);
+
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(limiter.tryConsume()).isFalse();
+        assertThat(limiter.nanosUntilAvailable()).isEqualTo(Duration.ofSeconds(1).toNanos());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(limiter.nanosUntilAvailable()).isZero();
+        assertThat(consume(limiter, 10)).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SlidingWindowRateLimiterService.Mode.class)
+    void requestsSlideOutOneSubWindowAtATime(SlidingWindowRateLimiterService.Mode mode) {
+        ManualNanoClock clock = new ManualNanoClock();
+        SlidingWindowRateLimiterService limiter = new SlidingWindowRateLimiterService(mode, FIVE_PER_TEN_SECONDS, clock);
+        assertThat(consume(limiter, 3)).isEqualTo(3);
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(consume(limiter, 3)).isEqualTo(2);
+
+        // The first 3 leave the window, the 2 from t=5s stay
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(limiter.occupancy()).isEqualTo(2);
+        assertThat(consume(limiter, 5)).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SlidingWindowRateLimiterService.Mode.class)
+    void reconfigureKeepsGrantedPermits(SlidingWindowRateLimiterService.Mode mode) {
+        ManualNanoClock clock = new ManualNanoClock();
+        SlidingWindowRateLimiterService limiter = new SlidingWindowRateLimiterService(mode, FIVE_PER_TEN_SECONDS, clock);
+        consume(limiter, 5);
+        limiter.reconfigure(RateLimiterConfig.of(8, Duration.ofSeconds(20)));
+        assertThat(limiter.occupancy()).isEqualTo(5);
+        assertThat(consume(limiter, 5)).isEqualTo(3);
+    }
+
+    @Test
+    void counterModeNeverGrantsMoreThanTheLimitUnderContention() throws InterruptedException {
+        SlidingWindowRateLimiterService limiter = new SlidingWindowRateLimiterService(
+                SlidingWindowRateLimiterService.Mode.SLIDING_WINDOW_COUNTER,
+                RateLimiterConfig.of(1000, Duration.ofHours(1)), new ManualNanoClock());
+        AtomicInteger granted = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> granted.addAndGet(consume(limiter, 500)));
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(granted.get()).isEqualTo(1000);
+    }
+
+    private static int consume(RateLimiter limiter, int requests) {
+        int allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (limiter.tryConsume()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,42 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    @Test
+    void manualClockDrivesTheWheel() throws InterruptedException {
+        ManualNanoClock clock = new ManualNanoClock();
+        TimerWheel wheel = new TimerWheel(clock, Duration.ofMillis(1), 64);
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(fired::countDown, Duration.ofMillis(200).toNanos());
+
+        assertThat(fired.await(20, TimeUnit.MILLISECONDS)).isFalse();
+        clock.advance(Duration.ofMillis(199));
+        assertThat(fired.await(20, TimeUnit.MILLISECONDS)).isFalse();
+        clock.advance(Duration.ofMillis(1));
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void acquireAsyncWaitsOnTheLimitersClock() {
+        ManualNanoClock clock = new ManualNanoClock();
+        RateLimiter gcra = RateLimiter.create(RateLimiter.Algorithm.GCRA,
+                RateLimiterConfig.of(5, Duration.ofSeconds(1)), clock);
+        gcra.tryConsumeUpTo(5);
+        TimerWheel wheel = new TimerWheel(clock, Duration.ofMillis(1), 64);
+        CompletableFuture<Void> permit = gcra.acquireAsync(ForkJoinPool.commonPool(), wheel);
+        assertThat(permit).isNotDone();
+
+        clock.advance(Duration.ofMillis(200));
+        assertThat(permit).succeedsWithin(Duration.ofSeconds(5));
+    }
+}
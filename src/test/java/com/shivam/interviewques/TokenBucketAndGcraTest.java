@@ -0,0 +1,80 @@
+package com.shivam.interviewques;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketAndGcraTest {
+
+    private static RateLimiter fivePerSecond(RateLimiter.Algorithm algorithm, NanoClock clock) {
+        return RateLimiter.create(algorithm, RateLimiterConfig.of(5, Duration.ofSeconds(1)), clock);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimiter.Algorithm.class, names = {"TOKEN_BUCKET", "GCRA"})
+    void burstThenOnePermitPerEmissionInterval(RateLimiter.Algorithm algorithm) {
+        ManualNanoClock clock = new ManualNanoClock();
+        RateLimiter limiter = fivePerSecond(algorithm, clock);
+        assertThat(limiter.tryConsumeUpTo(10)).isEqualTo(5);
+        assertThat(limiter.nanosUntilAvailable()).isEqualTo(Duration.ofMillis(200).toNanos());
+
+        clock.advance(Duration.ofMillis(199));
+        assertThat(limiter.tryConsume()).isFalse();
+        clock.advance(Duration.ofMillis(1));
+        assertThat(limiter.tryConsume()).isTrue();
+        assertThat(limiter.tryConsume()).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimiter.Algorithm.class, names = {"TOKEN_BUCKET", "GCRA"})
+    void longRunRateIsTheConfiguredRate(RateLimiter.Algorithm algorithm) {
+        ManualNanoClock clock = new ManualNanoClock();
+        RateLimiter limiter = fivePerSecond(algorithm, clock);
+        int allowed = 0;
+        // 10 s of a client retrying every 10 ms
+        for (int step = 0; step < 1000; step++) {
+            if (limiter.tryConsume()) {
+                allowed++;
+            }
+            clock.advance(Duration.ofMillis(10));
+        }
+        // Initial burst of 5 plus 5 per second
+        assertThat(allowed).isBetween(54, 55);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimiter.Algorithm.class, names = {"TOKEN_BUCKET", "GCRA"})
+    void idleTimeDoesNotBankMoreThanOneBurst(RateLimiter.Algorithm algorithm) {
+        ManualNanoClock clock = new ManualNanoClock();
+        RateLimiter limiter = fivePerSecond(algorithm, clock);
+        limiter.tryConsumeUpTo(5);
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(limiter.tryConsumeUpTo(100)).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimiter.Algorithm.class, names = {"TOKEN_BUCKET", "GCRA"})
+    void refundAndOccupancy(RateLimiter.Algorithm algorithm) {
+        ManualNanoClock clock = new ManualNanoClock();
+        RateLimiter limiter = fivePerSecond(algorithm, clock);
+        limiter.tryConsume(4);
+        assertThat(limiter.occupancy()).isEqualTo(4);
+        limiter.refund(2);
+        assertThat(limiter.occupancy()).isEqualTo(2);
+        assertThat(limiter.tryConsumeUpTo(10)).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimiter.Algorithm.class, names = {"TOKEN_BUCKET", "GCRA"})
+    void reconfigureRaisesTheBurst(RateLimiter.Algorithm algorithm) {
+        ManualNanoClock clock = new ManualNanoClock();
+        RateLimiter limiter = fivePerSecond(algorithm, clock);
+        limiter.tryConsumeUpTo(5);
+        limiter.reconfigure(RateLimiterConfig.of(10, Duration.ofSeconds(1)));
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(limiter.tryConsumeUpTo(100)).isEqualTo(10);
+    }
+}